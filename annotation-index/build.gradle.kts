@@ -0,0 +1,147 @@
+// the processor is released alongside Pioneer, so this build applies the root project's
+// formatting, style checks, POM metadata, and signing as well
+plugins {
+	`java-library`
+	checkstyle
+	`maven-publish`
+	signing
+	id("com.diffplug.spotless")
+}
+
+group = "org.junit-pioneer"
+description = "Annotation processor that indexes JUnit Pioneer annotations at compile time"
+
+java {
+	sourceCompatibility = JavaVersion.VERSION_1_8
+	withJavadocJar()
+	withSourcesJar()
+}
+
+repositories {
+	mavenCentral()
+}
+
+val junitVersion : String by project
+
+dependencies {
+	// the tests compile sources with the processor and check the index with Pioneer's own reader
+	testImplementation(rootProject)
+	testImplementation(platform("org.junit:junit-bom:$junitVersion"))
+	testImplementation(group = "org.junit.jupiter", name = "junit-jupiter-api")
+	testRuntimeOnly(group = "org.junit.jupiter", name = "junit-jupiter-engine")
+	testImplementation(group = "org.assertj", name = "assertj-core", version = "3.19.0")
+}
+
+spotless {
+	val headerFile = rootProject.file(".infra/spotless/eclipse-public-license-2.0.java")
+
+	java {
+		licenseHeaderFile(headerFile, "(package|import) ")
+		importOrderFile(rootProject.file(".infra/eclipse/junit-eclipse.importorder"))
+		eclipse().configFile(rootProject.file(".infra/eclipse/junit-eclipse-formatter-settings.xml"))
+
+		trimTrailingWhitespace()
+		endWithNewline()
+	}
+}
+
+checkstyle {
+	toolVersion = "7.8.2"
+	configDirectory.set(rootProject.file(".infra/checkstyle"))
+}
+
+tasks {
+
+	compileJava {
+		options.encoding = "UTF-8"
+	}
+
+	compileTestJava {
+		options.encoding = "UTF-8"
+	}
+
+	test {
+		testLogging {
+			setExceptionFormat("full")
+		}
+		useJUnitPlatform()
+		filter {
+			includeTestsMatching("*Tests")
+		}
+	}
+
+	javadoc {
+		options.encoding = "UTF-8"
+	}
+
+	withType<Jar>().configureEach {
+		from(rootProject.projectDir) {
+			include("LICENSE.md")
+			into("META-INF")
+		}
+	}
+
+}
+
+publishing {
+	publications {
+		create<MavenPublication>("maven") {
+			artifactId = "junit-pioneer-annotation-index"
+			from(components["java"])
+
+			pom {
+				name.set(artifactId)
+				description.set(project.description)
+				url.set("https://junit-pioneer.org/")
+
+				licenses {
+					license {
+						name.set("Eclipse Public License v2.0")
+						url.set("https://www.eclipse.org/legal/epl-v20.html")
+					}
+				}
+
+				scm {
+					url.set("https://github.com/junit-pioneer/junit-pioneer.git")
+				}
+
+				issueManagement {
+					system.set("GitHub Issues")
+					url.set("https://github.com/junit-pioneer/junit-pioneer/issues")
+				}
+
+				ciManagement {
+					system.set("GitHub Actions")
+					url.set("https://github.com/junit-pioneer/junit-pioneer/actions")
+				}
+
+				developers {
+					mapOf(
+						"nipafx" to "Nicolai Parlog",
+						"smoyer64" to "Steve Moyer",
+						"Bukama" to "Matthias Bünger",
+						"aepfli" to "Simon Schrottner",
+						"Michael1993" to "Mihály Verhás",
+						"beatngu13" to "Daniel Kraus"
+					).forEach {
+						developer {
+							id.set(it.key)
+							name.set(it.value)
+							url.set("https://github.com/" + it.key)
+						}
+					}
+				}
+			}
+		}
+	}
+}
+
+signing {
+	setRequired({
+		project.version != "unspecified" && gradle.taskGraph.hasTask("publishToSonatype")
+	})
+	val signingKey: String? by project
+	val signingPassword: String? by project
+	useInMemoryPgpKeys(signingKey, signingPassword)
+	sign(publishing.publications.findByName("maven"))
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of all compiled types to {@value #INDEX_LOCATION} that records for each
+ * of them whether JUnit Pioneer annotations may be present on it. Pioneer reads the index at
+ * run time and skips looking up its annotations on types that are known to carry none.
+ *
+ * <p>The index contains one line per type, consisting of a {@code +} (may carry Pioneer
+ * annotations) or {@code -} (doesn't carry Pioneer annotations) followed by the type's binary
+ * name. A type may carry Pioneer annotations if any of them is present on the type, its members,
+ * its supertypes, or its enclosing types. Annotations from the package {@code org.junitpioneer}
+ * count as Pioneer annotations as well as annotations that are meta-annotated with them and
+ * containers of such annotations.</p>
+ *
+ * <p>Types that were compiled without this processor are not contained in the index, so
+ * Pioneer treats them as before.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class PioneerAnnotationIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * The location of the index in the class output - Pioneer reads it from the same location.
+	 */
+	public static final String INDEX_LOCATION = "META-INF/junit-pioneer/annotation-index";
+
+	private static final String PIONEER_PACKAGE_PREFIX = "org.junitpioneer.";
+
+	// sorted by binary type name, so the index is reproducible
+	private final Map<String, Boolean> indexedTypes = new TreeMap<>();
+	private final Map<TypeElement, Boolean> typesWithPioneerAnnotations = new HashMap<>();
+	private final Map<TypeElement, Boolean> pioneerAnnotationTypes = new HashMap<>();
+	// annotation types that are being decided, mapped to their depth in the recursion
+	private final Map<TypeElement, Integer> annotationTypesInProgress = new HashMap<>();
+	// the lowest depth of an in-progress annotation type that the current decision relied on
+	private int lowestInProgressDependency = Integer.MAX_VALUE;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+		for (TypeElement type : ElementFilter.typesIn(roundEnvironment.getRootElements()))
+			index(type);
+		if (roundEnvironment.processingOver())
+			writeIndex();
+		// other processors may be interested in the same annotations
+		return false;
+	}
+
+	private void index(TypeElement type) {
+		if (type.getKind() == ElementKind.ANNOTATION_TYPE)
+			return;
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		indexedTypes.put(binaryName, mayCarryPioneerAnnotations(type));
+		for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements()))
+			index(memberType);
+	}
+
+	private boolean mayCarryPioneerAnnotations(TypeElement type) {
+		Boolean known = typesWithPioneerAnnotations.get(type);
+		if (known != null)
+			return known;
+
+		boolean mayCarry = hasPioneerAnnotation(type) || hasMemberWithPioneerAnnotation(type)
+				|| hasSupertypeWithPioneerAnnotations(type) || hasEnclosingTypeWithPioneerAnnotations(type);
+		typesWithPioneerAnnotations.put(type, mayCarry);
+		return mayCarry;
+	}
+
+	private boolean hasMemberWithPioneerAnnotation(TypeElement type) {
+		for (Element member : type.getEnclosedElements()) {
+			// member types are indexed on their own
+			if (member.getKind().isClass() || member.getKind().isInterface())
+				continue;
+			if (hasPioneerAnnotation(member))
+				return true;
+			if (member instanceof ExecutableElement)
+				for (Element parameter : ((ExecutableElement) member).getParameters())
+					if (hasPioneerAnnotation(parameter))
+						return true;
+		}
+		return false;
+	}
+
+	private boolean hasSupertypeWithPioneerAnnotations(TypeElement type) {
+		if (isTypeWithPioneerAnnotations(type.getSuperclass()))
+			return true;
+		for (TypeMirror superinterface : type.getInterfaces())
+			if (isTypeWithPioneerAnnotations(superinterface))
+				return true;
+		return false;
+	}
+
+	private boolean isTypeWithPioneerAnnotations(TypeMirror type) {
+		return type.getKind() == TypeKind.DECLARED
+				&& mayCarryPioneerAnnotations((TypeElement) ((DeclaredType) type).asElement());
+	}
+
+	private boolean hasEnclosingTypeWithPioneerAnnotations(TypeElement type) {
+		Element enclosing = type.getEnclosingElement();
+		return enclosing instanceof TypeElement && mayCarryPioneerAnnotations((TypeElement) enclosing);
+	}
+
+	private boolean hasPioneerAnnotation(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors())
+			if (isPioneerAnnotation((TypeElement) annotation.getAnnotationType().asElement()))
+				return true;
+		return false;
+	}
+
+	private boolean isPioneerAnnotation(TypeElement annotationType) {
+		Boolean known = pioneerAnnotationTypes.get(annotationType);
+		if (known != null)
+			return known;
+
+		// annotation types can (meta-)annotate each other - a cycle back to a type that is still
+		// being decided doesn't make it a Pioneer annotation, but whatever it leads to might
+		Integer depthInProgress = annotationTypesInProgress.get(annotationType);
+		if (depthInProgress != null) {
+			lowestInProgressDependency = Math.min(lowestInProgressDependency, depthInProgress);
+			return false;
+		}
+
+		int depth = annotationTypesInProgress.size();
+		int outerDependency = lowestInProgressDependency;
+		annotationTypesInProgress.put(annotationType, depth);
+		lowestInProgressDependency = Integer.MAX_VALUE;
+		boolean isPioneerAnnotation = annotationType.getQualifiedName().toString().startsWith(PIONEER_PACKAGE_PREFIX)
+				|| hasPioneerAnnotation(annotationType) || containsPioneerAnnotations(annotationType);
+		annotationTypesInProgress.remove(annotationType);
+
+		// a negative result that relied on an annotation type further up the recursion may change
+		// once that one is decided, so it isn't cached (positive results never change)
+		boolean dependsOnOuterType = lowestInProgressDependency < depth;
+		if (isPioneerAnnotation || !dependsOnOuterType)
+			pioneerAnnotationTypes.put(annotationType, isPioneerAnnotation);
+		lowestInProgressDependency = dependsOnOuterType
+				? Math.min(outerDependency, lowestInProgressDependency)
+				: outerDependency;
+		return isPioneerAnnotation;
+	}
+
+	private boolean containsPioneerAnnotations(TypeElement annotationType) {
+		for (ExecutableElement attribute : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+			if (!attribute.getSimpleName().contentEquals("value")
+					|| attribute.getReturnType().getKind() != TypeKind.ARRAY)
+				continue;
+			TypeMirror componentType = ((ArrayType) attribute.getReturnType()).getComponentType();
+			if (componentType.getKind() == TypeKind.DECLARED) {
+				Element component = ((DeclaredType) componentType).asElement();
+				return component.getKind() == ElementKind.ANNOTATION_TYPE
+						&& isPioneerAnnotation((TypeElement) component);
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		if (indexedTypes.isEmpty())
+			return;
+		try {
+			FileObject index = processingEnv
+					.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (Writer writer = index.openWriter()) {
+				writer.write("# JUnit Pioneer annotation index - generated, do not edit\n");
+				for (Map.Entry<String, Boolean> type : indexedTypes.entrySet())
+					writer.write((type.getValue() ? '+' : '-') + type.getKey() + '\n');
+			}
+		}
+		catch (IOException ex) {
+			processingEnv
+					.getMessager()
+					.printMessage(Diagnostic.Kind.WARNING,
+						"Could not write JUnit Pioneer annotation index (Pioneer will work without it): " + ex);
+		}
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Annotation processor that creates an index of the types that carry JUnit Pioneer annotations,
+ * which Pioneer uses to skip annotation lookups on all other types.
+ */
+
+package org.junitpioneer.index;
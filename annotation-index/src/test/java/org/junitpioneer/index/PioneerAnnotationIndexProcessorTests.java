@@ -0,0 +1,272 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.index;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.internal.PioneerAnnotationIndex;
+import org.junitpioneer.jupiter.DefaultLocale;
+
+@DisplayName("Pioneer annotation index processor")
+class PioneerAnnotationIndexProcessorTests {
+
+	@TempDir
+	Path output;
+
+	@Nested
+	@DisplayName("indexes types")
+	class IndexTests {
+
+		@Test
+		@DisplayName("without Pioneer annotations as free of them")
+		void plainType() throws IOException {
+			List<String> index = compile(source("Plain", "class Plain { @Deprecated void test() { } }"));
+
+			assertThat(index).containsExactly("-com.example.Plain");
+		}
+
+		@Test
+		@DisplayName("with Pioneer annotations on the type as carrying them")
+		void annotatedType() throws IOException {
+			List<String> index = compile(
+				source("Annotated", "@org.junitpioneer.jupiter.DefaultLocale(\"en\") class Annotated { }"));
+
+			assertThat(index).containsExactly("+com.example.Annotated");
+		}
+
+		@Test
+		@DisplayName("with Pioneer annotations on members or parameters as carrying them")
+		void annotatedMembers() throws IOException {
+			// Pioneer's own annotations only target types and methods, so use one without `@Target`
+			List<String> index = compile( //
+				source("English",
+					"@org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface English { }"),
+				source("AnnotatedMethod",
+					"class AnnotatedMethod { @org.junitpioneer.jupiter.RetryingTest(3) void test() { } }"),
+				source("AnnotatedConstructor", "class AnnotatedConstructor { @English AnnotatedConstructor() { } }"),
+				source("AnnotatedField", "class AnnotatedField { @English Object field; }"),
+				source("AnnotatedParameter", "class AnnotatedParameter { void test(@English Object parameter) { } }"));
+
+			assertThat(index)
+					.containsExactly("+com.example.AnnotatedConstructor", "+com.example.AnnotatedField",
+						"+com.example.AnnotatedMethod", "+com.example.AnnotatedParameter");
+		}
+
+		@Test
+		@DisplayName("with meta-annotated annotations as carrying them")
+		void metaAnnotations() throws IOException {
+			List<String> index = compile( //
+				source("English",
+					"@org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface English { }"),
+				source("BritishEnglish",
+					"@English @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface BritishEnglish { }"),
+				source("SelfAnnotated",
+					"@SelfAnnotated @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface SelfAnnotated { }"),
+				source("MetaAnnotated", "@English class MetaAnnotated { }"),
+				source("MetaMetaAnnotated", "class MetaMetaAnnotated { @BritishEnglish void test() { } }"),
+				source("CyclicallyAnnotated", "@SelfAnnotated class CyclicallyAnnotated { }"));
+
+			// annotation types aren't indexed because Pioneer never looks up annotations on them
+			assertThat(index)
+					.containsExactly("-com.example.CyclicallyAnnotated", "+com.example.MetaAnnotated",
+						"+com.example.MetaMetaAnnotated");
+		}
+
+		@Test
+		@DisplayName("with annotations that meta-annotate each other as carrying them")
+		void cyclicMetaAnnotations() throws IOException {
+			List<String> index = compile( //
+				source("Alpha",
+					"@Beta @org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Alpha { }"),
+				source("Beta",
+					"@Alpha @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Beta { }"),
+				source("Ping",
+					"@Pong @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Ping { }"),
+				source("Pong",
+					"@Ping @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Pong { }"),
+				// `Alpha` is looked up first, so `Beta` is decided while `Alpha` still is
+				source("AlphaAnnotated", "@Alpha class AlphaAnnotated { }"),
+				source("BetaAnnotated", "@Beta class BetaAnnotated { }"),
+				source("PingAnnotated", "@Ping class PingAnnotated { }"));
+
+			assertThat(index)
+					.containsExactly("+com.example.AlphaAnnotated", "+com.example.BetaAnnotated",
+						"-com.example.PingAnnotated");
+		}
+
+		@Test
+		@DisplayName("with repeated annotations as carrying them")
+		void repeatableContainers() throws IOException {
+			List<String> index = compile( //
+				source("Tag",
+					"@org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Repeatable(Tags.class) @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Tag { String value(); }"),
+				source("Tags",
+					"@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Tags { Tag[] value(); }"),
+				source("Label",
+					"@java.lang.annotation.Repeatable(Labels.class) @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Label { String value(); }"),
+				source("Labels",
+					"@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Labels { Label[] value(); }"),
+				source("Tagged", "@Tag(\"a\") @Tag(\"b\") class Tagged { }"),
+				source("Labeled", "@Label(\"a\") @Label(\"b\") class Labeled { }"),
+				source("RepeatedPioneerAnnotation",
+					"class RepeatedPioneerAnnotation { @org.junitpioneer.jupiter.ClearSystemProperty(key = \"a\") @org.junitpioneer.jupiter.ClearSystemProperty(key = \"b\") void test() { } }"));
+
+			assertThat(index)
+					.containsExactly("-com.example.Labeled", "+com.example.RepeatedPioneerAnnotation",
+						"+com.example.Tagged");
+		}
+
+		@Test
+		@DisplayName("with annotated supertypes as carrying them, regardless of @Inherited")
+		void supertypes() throws IOException {
+			List<String> index = compile( //
+				source("Base", "@org.junitpioneer.jupiter.DefaultLocale(\"en\") abstract class Base { }"),
+				source("Retrying", "interface Retrying { @org.junitpioneer.jupiter.RetryingTest(3) default void test() { } }"),
+				source("Inheriting",
+					"@java.lang.annotation.Inherited @org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @interface Inheriting { }"),
+				source("InheritingBase", "@Inheriting abstract class InheritingBase { }"),
+				source("Extending", "class Extending extends Base { }"),
+				source("ExtendingTwice", "class ExtendingTwice extends Extending { }"),
+				source("Implementing", "class Implementing implements Retrying { }"),
+				source("ExtendingInheriting", "class ExtendingInheriting extends InheritingBase { }"));
+
+			assertThat(index)
+					.containsExactly("+com.example.Base", "+com.example.Extending", "+com.example.ExtendingInheriting",
+						"+com.example.ExtendingTwice", "+com.example.Implementing", "+com.example.InheritingBase",
+						"+com.example.Retrying");
+		}
+
+		@Test
+		@DisplayName("with annotated supertypes from the class path as carrying them")
+		void supertypesFromClassPath() throws IOException {
+			Path library = Files.createDirectory(output.resolve("library"));
+			compile(library, "",
+				source("Base", "@org.junitpioneer.jupiter.DefaultLocale(\"en\") public abstract class Base { }"),
+				source("PlainBase", "public abstract class PlainBase { }"));
+
+			List<String> index = compile(output, library.toString(), //
+				source("Extending", "class Extending extends Base { }"),
+				source("ExtendingPlain", "class ExtendingPlain extends PlainBase { }"));
+
+			assertThat(index).containsExactly("+com.example.Extending", "-com.example.ExtendingPlain");
+		}
+
+		@Test
+		@DisplayName("with annotated enclosing types as carrying them")
+		void enclosingTypes() throws IOException {
+			List<String> index = compile( //
+				source("Outer",
+					"@org.junitpioneer.jupiter.DefaultLocale(\"en\") class Outer { class Inner { } static class Nested { class Deeper { } } }"),
+				source("PlainOuter",
+					"class PlainOuter { @org.junitpioneer.jupiter.DefaultLocale(\"en\") class AnnotatedInner { } class PlainInner { } }"));
+
+			// Pioneer looks up annotations on enclosing types, but not on member types
+			assertThat(index)
+					.containsExactly("+com.example.Outer", "+com.example.Outer$Inner", "+com.example.Outer$Nested",
+						"+com.example.Outer$Nested$Deeper", "-com.example.PlainOuter",
+						"+com.example.PlainOuter$AnnotatedInner", "-com.example.PlainOuter$PlainInner");
+		}
+
+	}
+
+	@Test
+	@DisplayName("never reports annotated types as free of Pioneer annotations at run time")
+	void endToEnd() throws Exception {
+		compile( //
+			source("English",
+				"@org.junitpioneer.jupiter.DefaultLocale(\"en\") @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface English { }"),
+			source("Plain", "public class Plain { }"),
+			source("Annotated", "@org.junitpioneer.jupiter.DefaultLocale(\"en\") public class Annotated { }"),
+			source("MetaAnnotated", "public class MetaAnnotated { @English public void test() { } }"),
+			source("Extending", "public class Extending extends Annotated { }"),
+			source("Enclosing",
+				"@org.junitpioneer.jupiter.DefaultLocale(\"en\") public class Enclosing { public class Nested { } }"));
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toUri().toURL() },
+			PioneerAnnotationIndexProcessorTests.class.getClassLoader())) {
+			for (String annotated : Arrays.asList("Annotated", "MetaAnnotated", "Extending", "Enclosing$Nested")) {
+				Class<?> type = loader.loadClass("com.example." + annotated);
+				assertThat(PioneerAnnotationIndex.isKnownToBeAbsent(type, DefaultLocale.class))
+						.as("%s is known to be free of Pioneer annotations", type)
+						.isFalse();
+			}
+			// make sure the index was read at all
+			Class<?> plain = loader.loadClass("com.example.Plain");
+			assertThat(PioneerAnnotationIndex.isKnownToBeAbsent(plain, DefaultLocale.class)).isTrue();
+		}
+	}
+
+	private List<String> compile(JavaFileObject... sources) throws IOException {
+		return compile(output, "", sources);
+	}
+
+	/**
+	 * Compiles the sources with the processor into the specified directory and returns
+	 * the index' type lines (i.e. without comments).
+	 */
+	private static List<String> compile(Path directory, String additionalClassPath, JavaFileObject... sources)
+			throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		String classPath = System.getProperty("java.class.path")
+				+ (additionalClassPath.isEmpty() ? "" : File.pathSeparator + additionalClassPath);
+		List<String> options = Arrays.asList("-classpath", classPath, "-d", directory.toString());
+		try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+			JavaCompiler.CompilationTask task = compiler
+					.getTask(null, files, diagnostics, options, null, Arrays.asList(sources));
+			task.setProcessors(singletonList(new PioneerAnnotationIndexProcessor()));
+			boolean success = task.call();
+			assertThat(success).as("compilation succeeded: %s", diagnostics.getDiagnostics()).isTrue();
+		}
+		return Files
+				.readAllLines(directory.resolve(PioneerAnnotationIndexProcessor.INDEX_LOCATION), UTF_8)
+				.stream()
+				.filter(line -> !line.startsWith("#"))
+				.collect(Collectors.toList());
+	}
+
+	private static JavaFileObject source(String typeName, String declaration) {
+		return new SimpleJavaFileObject(URI.create("string:///com/example/" + typeName + ".java"),
+			JavaFileObject.Kind.SOURCE) {
+
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return "package com.example;\n\n" + declaration;
+			}
+
+		};
+	}
+
+}
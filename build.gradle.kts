@@ -224,6 +224,26 @@ tasks {
 				"--add-opens=java.base/java.util=ALL-UNNAMED")
 	}
 
+	// `@CaptureLogs` requires java.util.logging's own `LogManager`, which the `test` task replaces
+	// with log4j's, so its tests run again without that replacement
+	val julTest by registering(Test::class) {
+		description = "Runs the tests that require java.util.logging's own LogManager."
+		group = "verification"
+		testClassesDirs = sourceSets["test"].output.classesDirs
+		classpath = sourceSets["test"].runtimeClasspath
+		configure<JacocoTaskExtension> {
+			isEnabled = !experimentalBuild
+		}
+		testLogging {
+			setExceptionFormat("full")
+		}
+		useJUnitPlatform()
+		filter {
+			includeTestsMatching("*CaptureLogsExtensionTests")
+		}
+		shouldRunAfter(test)
+	}
+
 	javadoc {
 		// of all the javadoc checks (accessibility, html, missing, reference, syntax; see
 		// https://docs.oracle.com/javase/8/docs/technotes/tools/unix/javadoc.html#BEJEFABE)
@@ -244,7 +264,7 @@ tasks {
 
 	check {
 		// to find Javadoc errors early, let "javadoc" task run during "check"
-		dependsOn(javadoc, validateYaml)
+		dependsOn(javadoc, validateYaml, julTest)
 	}
 
 	withType<Jar>().configureEach {
@@ -9,4 +9,6 @@ gradleEnterprise {
 		termsOfServiceUrl = "https://gradle.com/terms-of-service"
 		termsOfServiceAgree = "yes"
 	}
-}
\ No newline at end of file
+}
+
+include("annotation-index")
@@ -0,0 +1,581 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junitpioneer.jupiter.params.DisableIfAllArguments;
+import org.junitpioneer.jupiter.params.DisableIfAnyArgument;
+import org.junitpioneer.jupiter.params.DisableIfArgument;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Pioneer-internal class that holds the checks configured with
+ * {@link DisableIfAllArguments @DisableIfAllArguments}, {@link DisableIfAnyArgument @DisableIfAnyArgument},
+ * and {@link DisableIfArgument @DisableIfArgument} on a test method.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>The annotations are looked up and verified and the regular expressions and substrings are compiled
+ * once per test method, so checking an invocation's arguments is cheap. The checks are either applied
+ * by aborting invocations (the default) or, if the configuration parameter {@value #MODE_PROPERTY_NAME}
+ * is set to {@code filter}, by removing argument lists while they are provided.</p>
+ *
+ * <p>Instances are immutable and thus thread-safe.</p>
+ */
+public class DisableIfArgumentPlan {
+
+	public static final String MODE_PROPERTY_NAME = "junitpioneer.disable-if-argument.mode";
+
+	private static final Namespace NAMESPACE = Namespace.create(DisableIfArgumentPlan.class);
+
+	private final List<ArgumentsCheck> checks;
+
+	private DisableIfArgumentPlan(List<ArgumentsCheck> checks) {
+		this.checks = checks;
+	}
+
+	/**
+	 * Returns the plan for the test template (e.g. a parameterized test) belonging to the specified
+	 * {@code context}. It is compiled on first access and then stored, so all invocations share it.
+	 */
+	public static DisableIfArgumentPlan forTestTemplate(ExtensionContext templateContext) {
+		Method testMethod = templateContext.getRequiredTestMethod();
+		return templateContext
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(testMethod.toString(), __ -> compile(testMethod), DisableIfArgumentPlan.class);
+	}
+
+	/**
+	 * Removes the arguments that are disabled before they are turned into invocations of the test
+	 * template belonging to the specified {@code context}. Unless arguments are configured to be
+	 * filtered and the template is annotated with any of the {@code DisableIf...} annotations,
+	 * the arguments are returned unchanged.
+	 *
+	 * <p>Only argument lists that provide all of the method's arguments are checked - others may still
+	 * be disabled when the invocation's missing arguments were resolved.</p>
+	 *
+	 * <p>A test template without invocations fails, so if all arguments are disabled, the last one
+	 * is kept. Its invocation is then aborted like in the default mode, which reports the test as
+	 * skipped.</p>
+	 */
+	public static <T> Stream<T> filterArguments(ExtensionContext templateContext, Stream<T> arguments,
+			Function<? super T, ? extends List<?>> toArgumentList) {
+		Method testMethod = templateContext.getRequiredTestMethod();
+		if (!isFilterModeEnabled(templateContext) || !isAnyDisableAnnotationPresent(testMethod))
+			return arguments;
+
+		DisableIfArgumentPlan plan = forTestTemplate(templateContext);
+		int parameterCount = testMethod.getParameterCount();
+		Predicate<T> isEnabled = argument -> {
+			List<?> argumentList = toArgumentList.apply(argument);
+			return argumentList.size() != parameterCount || !plan.disables(argumentList);
+		};
+		Iterator<T> filtered = new FilteringIterator<>(arguments.iterator(), isEnabled);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(filtered, Spliterator.ORDERED), false)
+				.onClose(arguments::close);
+	}
+
+	private static boolean isFilterModeEnabled(ExtensionContext context) {
+		Optional<String> mode = context.getConfigurationParameter(MODE_PROPERTY_NAME).map(String::trim);
+		if (!mode.isPresent() || mode.get().equalsIgnoreCase("abort"))
+			return false;
+		if (mode.get().equalsIgnoreCase("filter"))
+			return true;
+		throw new ExtensionConfigurationException(
+			format("Configuration parameter %s must be either `abort` or `filter` but was `%s`.", MODE_PROPERTY_NAME,
+				mode.get()));
+	}
+
+	private static boolean isAnyDisableAnnotationPresent(Method testMethod) {
+		return AnnotationSupport.isAnnotated(testMethod, DisableIfAllArguments.class)
+				|| AnnotationSupport.isAnnotated(testMethod, DisableIfAnyArgument.class)
+				|| !AnnotationSupport.findRepeatableAnnotations(testMethod, DisableIfArgument.class).isEmpty();
+	}
+
+	static DisableIfArgumentPlan compile(Method testMethod) {
+		Optional<DisableIfAllArguments> allArguments = AnnotationSupport
+				.findAnnotation(testMethod, DisableIfAllArguments.class);
+		Optional<DisableIfAnyArgument> anyArgument = AnnotationSupport
+				.findAnnotation(testMethod, DisableIfAnyArgument.class);
+		List<DisableIfArgument> arguments = AnnotationSupport
+				.findRepeatableAnnotations(testMethod, DisableIfArgument.class);
+		if (!allArguments.isPresent() && !anyArgument.isPresent() && arguments.isEmpty())
+			throw new ExtensionConfigurationException(
+				"Required at least one of the following: @DisableIfArgument, @DisableIfAllArguments, @DisableIfAnyArgument but found none.");
+
+		List<ArgumentsCheck> checks = new ArrayList<>();
+		allArguments.ifPresent(annotation -> {
+			verifyExactlyOneOf(annotation.contains(), annotation.matches(), DisableIfAllArguments.class);
+			checks.add(new AllArgumentsCheck(ArgumentCondition.of(annotation.contains(), annotation.matches())));
+		});
+		anyArgument.ifPresent(annotation -> {
+			verifyExactlyOneOf(annotation.contains(), annotation.matches(), DisableIfAnyArgument.class);
+			checks.add(new AnyArgumentCheck(ArgumentCondition.of(annotation.contains(), annotation.matches())));
+		});
+		for (int i = 0; i < arguments.size(); i++) {
+			DisableIfArgument annotation = arguments.get(i);
+			ArgumentCondition condition = ArgumentCondition.of(testMethod, annotation);
+			int argumentIndex = findArgumentIndex(testMethod, annotation, i);
+			checks.add(new SingleArgumentCheck(argumentIndex, condition));
+		}
+		return new DisableIfArgumentPlan(Collections.unmodifiableList(checks));
+	}
+
+	private static void verifyExactlyOneOf(String[] contains, String[] matches, Class<?> annotationClass) {
+		if (contains.length > 0 == matches.length > 0)
+			throw new ExtensionConfigurationException(
+				format("%s requires that either `contains` or `matches` is set.", annotationClass.getSimpleName()));
+	}
+
+	private static int findArgumentIndex(Method testMethod, DisableIfArgument annotation, int annotationIndex) {
+		if (!annotation.name().isEmpty() && annotation.index() > -1)
+			throw new ExtensionConfigurationException(
+				"Using both name and index parameter targeting in a single @DisableIfArgument is not permitted.");
+
+		if (!annotation.name().isEmpty()) {
+			// get argument by name only works if information is present
+			if (testMethod.getParameters()[0].isNamePresent())
+				return findParameterIndexFromName(testMethod, annotation.name());
+			else
+				throw new ParameterResolutionException(
+					format("%s: Could not resolve parameter by name (%s).", testMethod.getName(), annotation.name()));
+		}
+		// get argument by explicit index (if present)
+		if (annotation.index() > -1)
+			return verifyValidIndex(testMethod, annotation.index());
+		// get argument by annotation index (implicit)
+		return annotationIndex;
+	}
+
+	private static int findParameterIndexFromName(Method testMethod, String name) {
+		Parameter[] parameters = testMethod.getParameters();
+		for (int i = 0; i < parameters.length; i++)
+			if (parameters[i].getName().equals(name))
+				return i;
+		throw new ParameterResolutionException(
+			format("Could not find parameter named %s in test %s", name, testMethod));
+	}
+
+	private static int verifyValidIndex(Method testMethod, int index) {
+		// the invocation's arguments include all parameters, so their number is known upfront
+		int argumentCount = testMethod.getParameterCount();
+		if (index >= argumentCount)
+			throw new ExtensionConfigurationException(
+				format("Annotation has invalid index [%s], should be less than %s", index, argumentCount));
+		return index;
+	}
+
+	/**
+	 * @throws TestAbortedException if the specified arguments fulfill one of the configured conditions
+	 */
+	public void verify(List<?> arguments) {
+		for (ArgumentsCheck check : checks)
+			if (check.disables(arguments))
+				throw new TestAbortedException(check.reason());
+	}
+
+	/**
+	 * Determines whether the specified arguments fulfill one of the configured conditions.
+	 */
+	public boolean disables(List<?> arguments) {
+		for (ArgumentsCheck check : checks)
+			if (check.disables(arguments))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the elements that fulfill the predicate or, if there are none, the last one.
+	 */
+	private static class FilteringIterator<T> implements Iterator<T> {
+
+		private final Iterator<T> elements;
+		private final Predicate<T> predicate;
+
+		private boolean anyReturned;
+		private boolean hasNext;
+		private T next;
+
+		FilteringIterator(Iterator<T> elements, Predicate<T> predicate) {
+			this.elements = elements;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (hasNext)
+				return true;
+			T lastRejected = null;
+			boolean anyRejected = false;
+			while (elements.hasNext()) {
+				T element = elements.next();
+				if (predicate.test(element)) {
+					next = element;
+					hasNext = true;
+					return true;
+				}
+				lastRejected = element;
+				anyRejected = true;
+			}
+			if (!anyReturned && anyRejected) {
+				next = lastRejected;
+				hasNext = true;
+			}
+			return hasNext;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			T element = next;
+			anyReturned = true;
+			hasNext = false;
+			next = null;
+			return element;
+		}
+
+	}
+
+	private interface ArgumentsCheck {
+
+		boolean disables(List<?> arguments);
+
+		String reason();
+
+	}
+
+	private static class AllArgumentsCheck implements ArgumentsCheck {
+
+		private final ArgumentCondition condition;
+
+		AllArgumentsCheck(ArgumentCondition condition) {
+			this.condition = condition;
+		}
+
+		@Override
+		public boolean disables(List<?> arguments) {
+			for (Object argument : arguments)
+				if (!condition.test(argument))
+					return false;
+			return true;
+		}
+
+		@Override
+		public String reason() {
+			return condition.allArgumentsReason;
+		}
+
+	}
+
+	private static class AnyArgumentCheck implements ArgumentsCheck {
+
+		private final ArgumentCondition condition;
+
+		AnyArgumentCheck(ArgumentCondition condition) {
+			this.condition = condition;
+		}
+
+		@Override
+		public boolean disables(List<?> arguments) {
+			for (Object argument : arguments)
+				if (condition.test(argument))
+					return true;
+			return false;
+		}
+
+		@Override
+		public String reason() {
+			return condition.anyArgumentReason;
+		}
+
+	}
+
+	private static class SingleArgumentCheck implements ArgumentsCheck {
+
+		private final int index;
+		private final ArgumentCondition condition;
+
+		SingleArgumentCheck(int index, ArgumentCondition condition) {
+			this.index = index;
+			this.condition = condition;
+		}
+
+		@Override
+		public boolean disables(List<?> arguments) {
+			return condition.test(arguments.get(index));
+		}
+
+		@Override
+		public String reason() {
+			return condition.anyArgumentReason;
+		}
+
+	}
+
+	private static class ArgumentCondition implements Predicate<Object> {
+
+		private final Predicate<Object> predicate;
+		private final String allArgumentsReason;
+		private final String anyArgumentReason;
+
+		private ArgumentCondition(Predicate<Object> predicate, String allArgumentsReason, String anyArgumentReason) {
+			this.predicate = predicate;
+			this.allArgumentsReason = allArgumentsReason;
+			this.anyArgumentReason = anyArgumentReason;
+		}
+
+		private ArgumentCondition(Predicate<Object> predicate, String reason) {
+			this(predicate, reason, reason);
+		}
+
+		static ArgumentCondition of(String[] contains, String[] matches) {
+			if (contains.length > 0)
+				return contains(contains);
+			else
+				return matches(matches);
+		}
+
+		static ArgumentCondition of(Method testMethod, DisableIfArgument annotation) {
+			// collect the conditions that are set, so we can verify there's exactly one
+			// without preparing the others
+			Map<String, Supplier<ArgumentCondition>> conditions = new LinkedHashMap<>();
+			if (annotation.contains().length > 0)
+				conditions.put("contains", () -> contains(annotation.contains()));
+			if (annotation.matches().length > 0)
+				conditions.put("matches", () -> matches(annotation.matches()));
+			if (!Double.isNaN(annotation.lessThan()))
+				conditions.put("lessThan", () -> lessThan(annotation.lessThan()));
+			if (!Double.isNaN(annotation.greaterThan()))
+				conditions.put("greaterThan", () -> greaterThan(annotation.greaterThan()));
+			if (annotation.in().length > 0)
+				conditions.put("in", () -> in(annotation.in()));
+			if (annotation.isNull())
+				conditions.put("isNull", ArgumentCondition::isNull);
+			if (annotation.instanceOf().length > 0)
+				conditions.put("instanceOf", () -> instanceOf(annotation.instanceOf()));
+			if (annotation.enumNames().length > 0)
+				conditions.put("enumNames", () -> enumNames(annotation.enumNames()));
+			if (!annotation.predicate().isEmpty())
+				conditions.put("predicate", () -> predicate(testMethod, annotation.predicate()));
+
+			if (conditions.size() != 1)
+				throw new ExtensionConfigurationException(
+					"DisableIfArgument requires that exactly one of `contains`, `matches`, `lessThan`, `greaterThan`, "
+							+ "`in`, `isNull`, `instanceOf`, `enumNames`, or `predicate` is set.");
+			return conditions.values().iterator().next().get();
+		}
+
+		private static ArgumentCondition contains(String[] contains) {
+			SubstringMatcher matcher = new SubstringMatcher(contains);
+			return new ArgumentCondition(argument -> matcher.isAnyContainedIn(argument.toString()),
+				"All arguments contained one or more value(s) from the `contains` array.",
+				"One or more arguments contained a value from the `contains` array.");
+		}
+
+		private static ArgumentCondition matches(String[] matches) {
+			Pattern[] patterns = new Pattern[matches.length];
+			for (int i = 0; i < matches.length; i++)
+				patterns[i] = Pattern.compile(matches[i]);
+			Predicate<Object> anyMatch = argument -> {
+				String string = argument.toString();
+				for (Pattern pattern : patterns)
+					if (pattern.matcher(string).matches())
+						return true;
+				return false;
+			};
+			return new ArgumentCondition(anyMatch,
+				"All arguments matched one or more regular expression(s) from the `matches` array.",
+				"One or more arguments matched a regular expression from the `matches` array.");
+		}
+
+		private static ArgumentCondition lessThan(double value) {
+			return new ArgumentCondition(argument -> argument != null && toNumber(argument).doubleValue() < value,
+				format("Argument was less than %s.", value));
+		}
+
+		private static ArgumentCondition greaterThan(double value) {
+			return new ArgumentCondition(argument -> argument != null && toNumber(argument).doubleValue() > value,
+				format("Argument was greater than %s.", value));
+		}
+
+		private static ArgumentCondition in(double[] values) {
+			double[] sortedValues = values.clone();
+			Arrays.sort(sortedValues);
+			return new ArgumentCondition(argument -> argument != null && isIn(toNumber(argument), sortedValues),
+				"Argument was equal to a value from the `in` array.");
+		}
+
+		private static boolean isIn(Number number, double[] sortedValues) {
+			if (number instanceof Byte || number instanceof Short || number instanceof Integer
+					|| number instanceof Long) {
+				// large longs can't be represented exactly as doubles, so compare as longs
+				long integral = number.longValue();
+				for (double value : sortedValues)
+					if (value == Math.rint(value) && (long) value == integral)
+						return true;
+				return false;
+			}
+			if (number instanceof Float) {
+				float floatingPoint = number.floatValue();
+				for (double value : sortedValues)
+					if ((float) value == floatingPoint)
+						return true;
+				return false;
+			}
+			return Arrays.binarySearch(sortedValues, number.doubleValue()) >= 0;
+		}
+
+		private static Number toNumber(Object argument) {
+			if (argument instanceof Number)
+				return (Number) argument;
+			throw new ExtensionConfigurationException(format(
+				"DisableIfArgument can only compare numbers with `lessThan`, `greaterThan`, or `in`, but argument was %s.",
+				argument.getClass().getName()));
+		}
+
+		private static ArgumentCondition isNull() {
+			return new ArgumentCondition(Objects::isNull, "Argument was null.");
+		}
+
+		private static ArgumentCondition instanceOf(Class<?>[] types) {
+			Class<?>[] typesCopy = types.clone();
+			Predicate<Object> isInstance = argument -> {
+				for (Class<?> type : typesCopy)
+					if (type.isInstance(argument))
+						return true;
+				return false;
+			};
+			return new ArgumentCondition(isInstance, "Argument was an instance of a type from the `instanceOf` array.");
+		}
+
+		private static ArgumentCondition enumNames(String[] names) {
+			Set<String> nameSet = new HashSet<>(Arrays.asList(names));
+			Predicate<Object> hasName = argument -> {
+				if (argument == null)
+					return false;
+				if (!(argument instanceof Enum))
+					throw new ExtensionConfigurationException(
+						format("DisableIfArgument can only compare enum names with `enumNames`, but argument was %s.",
+							argument.getClass().getName()));
+				return nameSet.contains(((Enum<?>) argument).name());
+			};
+			return new ArgumentCondition(hasName, "Argument was an enum constant from the `enumNames` array.");
+		}
+
+		private static ArgumentCondition predicate(Method testMethod, String reference) {
+			Method predicate = findPredicate(testMethod, reference);
+			Class<?> parameterType = predicate.getParameterTypes()[0];
+			// primitive parameters accept their wrapper types, but not null
+			Class<?> acceptedType = wrap(parameterType);
+			Predicate<Object> fulfillsPredicate = argument -> {
+				boolean accepted = argument == null ? !parameterType.isPrimitive() : acceptedType.isInstance(argument);
+				return accepted && (boolean) ReflectionSupport.invokeMethod(predicate, null, argument);
+			};
+			return new ArgumentCondition(fulfillsPredicate, format("Argument fulfilled the predicate `%s`.", reference));
+		}
+
+		private static Method findPredicate(Method testMethod, String reference) {
+			Optional<Method> predicate = Optional.empty();
+			if (reference.contains("#")) {
+				String className = reference.substring(0, reference.indexOf('#'));
+				String methodName = reference.substring(reference.indexOf('#') + 1);
+				Class<?> type = ReflectionSupport
+						.tryToLoadClass(className)
+						.getOrThrow(ex -> new ExtensionConfigurationException(
+							format("Could not load class `%s` of predicate `%s`.", className, reference), ex));
+				predicate = findPredicate(type, methodName);
+			} else {
+				// look in the test class and, for nested tests, its enclosing classes
+				Class<?> type = testMethod.getDeclaringClass();
+				while (type != null && !predicate.isPresent()) {
+					predicate = findPredicate(type, reference);
+					type = type.getEnclosingClass();
+				}
+			}
+			return predicate
+					.orElseThrow(() -> new ExtensionConfigurationException(format(
+						"Could not find predicate `%s` - it must be a static method with a single parameter that returns boolean.",
+						reference)));
+		}
+
+		private static Optional<Method> findPredicate(Class<?> type, String methodName) {
+			return ReflectionSupport
+					.findMethods(type, method -> isPredicate(method, methodName), HierarchyTraversalMode.BOTTOM_UP)
+					.stream()
+					.findFirst();
+		}
+
+		private static boolean isPredicate(Method method, String methodName) {
+			return method.getName().equals(methodName) && Modifier.isStatic(method.getModifiers())
+					&& method.getParameterCount() == 1
+					&& (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class);
+		}
+
+		private static Class<?> wrap(Class<?> type) {
+			if (!type.isPrimitive())
+				return type;
+			if (type == boolean.class)
+				return Boolean.class;
+			if (type == byte.class)
+				return Byte.class;
+			if (type == char.class)
+				return Character.class;
+			if (type == short.class)
+				return Short.class;
+			if (type == int.class)
+				return Integer.class;
+			if (type == long.class)
+				return Long.class;
+			if (type == float.class)
+				return Float.class;
+			return Double.class;
+		}
+
+		@Override
+		public boolean test(Object argument) {
+			return predicate.test(argument);
+		}
+
+	}
+
+}
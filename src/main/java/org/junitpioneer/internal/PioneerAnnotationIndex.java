@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Pioneer-internal class that reads the annotation index created by Pioneer's annotation processor
+ * (artifact {@code junit-pioneer-annotation-index}) to find out which types carry no Pioneer annotations.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>The index contains one line per compiled type, consisting of a {@code +} (may carry Pioneer
+ * annotations) or {@code -} (doesn't carry Pioneer annotations) followed by the type's binary name.
+ * If there is no index, e.g. because the processor wasn't used, or a type is missing from it,
+ * nothing is known about the type and its annotations need to be looked up as usual.</p>
+ */
+public class PioneerAnnotationIndex {
+
+	static final String INDEX_LOCATION = "META-INF/junit-pioneer/annotation-index";
+
+	private static final String PIONEER_PACKAGE_PREFIX = "org.junitpioneer.";
+
+	/**
+	 * The names of the types without Pioneer annotations per class loader, which is only weakly held.
+	 */
+	private static final Map<ClassLoader, Set<String>> TYPES_WITHOUT_ANNOTATIONS = new WeakHashMap<>();
+
+	private static final ClassValue<Boolean> IS_WITHOUT_ANNOTATIONS = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return type.getClassLoader() != null
+					&& typesWithoutAnnotations(type.getClassLoader()).contains(type.getName());
+		}
+
+	};
+
+	private PioneerAnnotationIndex() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	/**
+	 * Determines whether the annotation index shows that neither the specified {@code type},
+	 * nor its members, supertypes, or enclosing types carry Pioneer annotations. If the specified
+	 * {@code annotationType} is not a Pioneer annotation, the index can't tell and this method
+	 * returns {@code false}.
+	 */
+	public static boolean isKnownToBeAbsent(Class<?> type, Class<? extends Annotation> annotationType) {
+		return annotationType.getName().startsWith(PIONEER_PACKAGE_PREFIX) && IS_WITHOUT_ANNOTATIONS.get(type);
+	}
+
+	private static Set<String> typesWithoutAnnotations(ClassLoader classLoader) {
+		synchronized (TYPES_WITHOUT_ANNOTATIONS) {
+			return TYPES_WITHOUT_ANNOTATIONS.computeIfAbsent(classLoader, PioneerAnnotationIndex::readIndexes);
+		}
+	}
+
+	private static Set<String> readIndexes(ClassLoader classLoader) {
+		try {
+			Set<String> indexLines = new HashSet<>();
+			Enumeration<URL> indexes = classLoader.getResources(INDEX_LOCATION);
+			while (indexes.hasMoreElements())
+				indexLines.addAll(readLines(indexes.nextElement()));
+			return typesWithoutAnnotations(indexLines);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read Pioneer's annotation index.", ex);
+		}
+	}
+
+	private static Collection<String> readLines(URL index) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), UTF_8))) {
+			return reader.lines().collect(Collectors.toList());
+		}
+	}
+
+	static Set<String> typesWithoutAnnotations(Collection<String> indexLines) {
+		Set<String> withoutAnnotations = new HashSet<>();
+		Set<String> withAnnotations = new HashSet<>();
+		for (String line : indexLines) {
+			if (line.startsWith("-"))
+				withoutAnnotations.add(line.substring(1).trim());
+			else if (line.startsWith("+"))
+				withAnnotations.add(line.substring(1).trim());
+		}
+		// if a type shows up in several indexes, it's only free of annotations if all of them agree
+		withoutAnnotations.removeAll(withAnnotations);
+		return Collections.unmodifiableSet(withoutAnnotations);
+	}
+
+}
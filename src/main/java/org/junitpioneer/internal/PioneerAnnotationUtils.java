@@ -20,7 +20,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,9 +47,39 @@ import org.junit.platform.commons.support.AnnotationSupport;
  * All of the above mechanisms apply recursively, meaning that, e.g., for an annotation to be
  * <em>meta-present</em> it can present on an annotation that is present on another annotation
  * that is present on the element.
+ *
+ * Since the annotations on a test element don't change, the results of looking them up in
+ * the hierarchy of (enclosing) types are cached per test class and method. The same goes for
+ * the {@code value} methods of container annotations. If the {@link PioneerAnnotationIndex}
+ * shows that a test class carries no Pioneer annotations, they aren't looked up at all.
  */
 public class PioneerAnnotationUtils {
 
+	/**
+	 * The annotations found for the test methods of a class and the class itself - {@code ClassValue}
+	 * holds on to them only as long as the class is loaded.
+	 */
+	private static final ClassValue<Map<AnnotationLookup, List<? extends Annotation>>> ANNOTATIONS_BY_TEST_CLASS = new ClassValue<Map<AnnotationLookup, List<? extends Annotation>>>() {
+
+		@Override
+		protected Map<AnnotationLookup, List<? extends Annotation>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+
+	};
+
+	/**
+	 * The {@code value} method of every container annotation type (empty for other annotation types).
+	 */
+	private static final ClassValue<Optional<Method>> CONTAINED_ANNOTATIONS_METHOD = new ClassValue<Optional<Method>>() {
+
+		@Override
+		protected Optional<Method> computeValue(Class<?> annotationType) {
+			return findContainedAnnotationsMethod(annotationType);
+		}
+
+	};
+
 	private PioneerAnnotationUtils() {
 		// private constructor to prevent instantiation of utility class
 	}
@@ -142,39 +175,63 @@ public class PioneerAnnotationUtils {
 	}
 
 	private static Stream<Annotation> flatten(Annotation annotation) {
+		Optional<Method> value = CONTAINED_ANNOTATIONS_METHOD.get(annotation.annotationType());
+		if (!value.isPresent())
+			return Stream.of(annotation);
+
 		try {
-			if (isContainerAnnotation(annotation)) {
-				Method value = annotation.annotationType().getDeclaredMethod("value");
-				Annotation[] invoke = (Annotation[]) value.invoke(annotation);
-				return Stream.of(invoke).flatMap(PioneerAnnotationUtils::flatten);
-			} else {
-				return Stream.of(annotation);
-			}
+			Annotation[] invoke = (Annotation[]) value.get().invoke(annotation);
+			return Stream.of(invoke).flatMap(PioneerAnnotationUtils::flatten);
 		}
-		catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+		catch (IllegalAccessException | InvocationTargetException e) {
 			throw new RuntimeException("Failed to flatten annotation stream.", e); //NOSONAR
 		}
 	}
 
 	public static boolean isContainerAnnotation(Annotation annotation) {
+		return CONTAINED_ANNOTATIONS_METHOD.get(annotation.annotationType()).isPresent();
+	}
+
+	private static Optional<Method> findContainedAnnotationsMethod(Class<?> annotationType) {
 		// See https://docs.oracle.com/javase/specs/jls/se8/html/jls-9.html#jls-9.6.3
 		try {
-			Method value = annotation.annotationType().getDeclaredMethod("value");
-			return value.getReturnType().isArray() && value.getReturnType().getComponentType().isAnnotation()
-					&& isContainerAnnotationOf(annotation, value.getReturnType().getComponentType());
+			Method value = annotationType.getDeclaredMethod("value");
+			boolean isContainer = value.getReturnType().isArray()
+					&& value.getReturnType().getComponentType().isAnnotation()
+					&& isContainerAnnotationOf(annotationType, value.getReturnType().getComponentType());
+			return isContainer ? Optional.of(value) : Optional.empty();
 		}
 		catch (NoSuchMethodException e) {
-			return false;
+			return Optional.empty();
 		}
 	}
 
-	private static boolean isContainerAnnotationOf(Annotation potentialContainer, Class<?> potentialRepeatable) {
+	private static boolean isContainerAnnotationOf(Class<?> potentialContainer, Class<?> potentialRepeatable) {
 		Repeatable repeatable = potentialRepeatable.getAnnotation(Repeatable.class);
-		return repeatable != null && repeatable.value().equals(potentialContainer.annotationType());
+		return repeatable != null && repeatable.value().equals(potentialContainer);
 	}
 
 	static <A extends Annotation> Stream<A> findAnnotations(ExtensionContext context, Class<A> annotationType,
 			boolean findRepeated, boolean findAllEnclosing) {
+		Optional<Class<?>> testClass = context.getTestClass();
+		Optional<Method> testMethod = context.getTestMethod();
+		if (testClass.isPresent() && PioneerAnnotationIndex.isKnownToBeAbsent(testClass.get(), annotationType))
+			return Stream.empty();
+		if (!testClass.isPresent())
+			return lookUpAnnotations(testMethod, testClass, annotationType, findRepeated, findAllEnclosing).stream();
+
+		AnnotationLookup lookup = new AnnotationLookup(testMethod.orElse(null), annotationType, findRepeated,
+			findAllEnclosing);
+		return ANNOTATIONS_BY_TEST_CLASS
+				.get(testClass.get())
+				.computeIfAbsent(lookup,
+					__ -> lookUpAnnotations(testMethod, testClass, annotationType, findRepeated, findAllEnclosing))
+				.stream()
+				.map(annotationType::cast);
+	}
+
+	private static <A extends Annotation> List<A> lookUpAnnotations(Optional<Method> testMethod,
+			Optional<Class<?>> testClass, Class<A> annotationType, boolean findRepeated, boolean findAllEnclosing) {
 		/*
 		 * Implementation notes:
 		 *
@@ -185,15 +242,15 @@ public class PioneerAnnotationUtils {
 		 * `AnnotationSupport::findAnnotation` (depending on arguments, thus handling the repeatable case).
 		 * Both of these methods check for _meta-presence_ and _indirect presence_.
 		 */
-		List<A> onMethod = context
-				.getTestMethod()
+		List<A> onMethod = testMethod
 				.map(method -> findOnMethod(method, annotationType, findRepeated))
 				.orElse(Collections.emptyList());
 		if (!findAllEnclosing && !onMethod.isEmpty())
-			return onMethod.stream();
-		Stream<A> onClass = findOnOuterClasses(context.getTestClass(), annotationType, findRepeated, findAllEnclosing);
+			return Collections.unmodifiableList(onMethod);
+		Stream<A> onClass = findOnOuterClasses(testClass, annotationType, findRepeated, findAllEnclosing);
 
-		return Stream.concat(onMethod.stream(), onClass);
+		return Collections
+				.unmodifiableList(Stream.concat(onMethod.stream(), onClass).collect(Collectors.toList()));
 	}
 
 	private static <A extends Annotation> List<A> findOnMethod(Method element, Class<A> annotationType,
@@ -255,4 +312,38 @@ public class PioneerAnnotationUtils {
 		return Stream.concat(onClass.stream(), onParentClass);
 	}
 
+	private static final class AnnotationLookup {
+
+		// `null` if the lookup is for a class
+		private final Method testMethod;
+		private final Class<? extends Annotation> annotationType;
+		private final boolean findRepeated;
+		private final boolean findAllEnclosing;
+
+		AnnotationLookup(Method testMethod, Class<? extends Annotation> annotationType, boolean findRepeated,
+				boolean findAllEnclosing) {
+			this.testMethod = testMethod;
+			this.annotationType = annotationType;
+			this.findRepeated = findRepeated;
+			this.findAllEnclosing = findAllEnclosing;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof AnnotationLookup))
+				return false;
+			AnnotationLookup that = (AnnotationLookup) o;
+			return findRepeated == that.findRepeated && findAllEnclosing == that.findAllEnclosing
+					&& Objects.equals(testMethod, that.testMethod) && annotationType.equals(that.annotationType);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(testMethod, annotationType, findRepeated, findAllEnclosing);
+		}
+
+	}
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+/**
+ * Pioneer-internal class that measures how long Pioneer's extension callbacks take.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>Profiling is disabled by default and can be enabled by setting the configuration parameter
+ * {@value #ENABLED_PROPERTY_NAME} to {@code true}. Callbacks are measured like this:</p>
+ *
+ * <pre>
+ * try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+ *     // ...
+ * }
+ * </pre>
+ *
+ * <p>The measurements are collected in lock-free counters per callback until
+ * {@link ProfilingExecutionListener} reports them at the end of the test plan execution.</p>
+ */
+public class PioneerProfiler {
+
+	public static final String ENABLED_PROPERTY_NAME = "junitpioneer.profiling.enabled";
+
+	private static final Namespace NAMESPACE = Namespace.create(PioneerProfiler.class);
+
+	// shared by all callbacks while profiling is disabled, so measuring them allocates nothing
+	private static final Measurement NO_MEASUREMENT = () -> {
+	};
+
+	private static final ConcurrentMap<String, CallbackStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+	private PioneerProfiler() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	/**
+	 * Starts measuring the specified {@code callback} of the specified {@code extension} if profiling is
+	 * enabled; the measurement ends when the returned instance is closed.
+	 */
+	public static Measurement measure(ExtensionContext context, Class<?> extension, String callback) {
+		if (!isEnabled(context))
+			return NO_MEASUREMENT;
+
+		String callbackName = extension.getSimpleName() + "." + callback;
+		long start = System.nanoTime();
+		return () -> record(callbackName, System.nanoTime() - start);
+	}
+
+	private static boolean isEnabled(ExtensionContext context) {
+		// every callback asks, so resolve the configuration parameter only once per test plan execution
+		return context
+				.getRoot()
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(ENABLED_PROPERTY_NAME,
+					key -> context.getConfigurationParameter(key).map(Boolean::parseBoolean).orElse(false),
+					Boolean.class);
+	}
+
+	private static void record(String callbackName, long nanos) {
+		STATISTICS.computeIfAbsent(callbackName, CallbackStatistics::new).record(nanos);
+	}
+
+	/**
+	 * Returns the statistics for all callbacks that were measured since the last call and
+	 * starts over, sorted by the total time spent in the callback (highest first).
+	 */
+	static List<CallbackStatistics> drainStatistics() {
+		List<CallbackStatistics> statistics = new ArrayList<>();
+		for (Map.Entry<String, CallbackStatistics> entry : STATISTICS.entrySet())
+			// only return the statistics that were removed - otherwise they are reported next time
+			if (STATISTICS.remove(entry.getKey(), entry.getValue()))
+				statistics.add(entry.getValue());
+		statistics.sort(Comparator.comparingLong(CallbackStatistics::totalNanos).reversed());
+		return statistics;
+	}
+
+	/**
+	 * A running measurement - {@link #close() closing} it ends the measurement.
+	 */
+	public interface Measurement extends AutoCloseable {
+
+		@Override
+		void close();
+
+	}
+
+	static class CallbackStatistics {
+
+		private final String callbackName;
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+		CallbackStatistics(String callbackName) {
+			this.callbackName = callbackName;
+		}
+
+		void record(long nanos) {
+			invocations.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		String callbackName() {
+			return callbackName;
+		}
+
+		long invocations() {
+			return invocations.sum();
+		}
+
+		long totalNanos() {
+			return totalNanos.sum();
+		}
+
+		long maxNanos() {
+			return maxNanos.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.lang.String.format;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junitpioneer.internal.PioneerProfiler.CallbackStatistics;
+
+/**
+ * Pioneer-internal listener that prints the statistics collected by {@link PioneerProfiler}
+ * when the test plan execution finished.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>Like {@link org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener}, this listener is
+ * active as soon as Pioneer is on the class/module path. Since it can't access the configuration
+ * parameters, it doesn't know whether profiling is enabled and only prints the summary if any
+ * callbacks were measured.</p>
+ */
+public class ProfilingExecutionListener implements TestExecutionListener {
+
+	private final PrintStream out;
+	private final LongAdder tests = new LongAdder();
+	private volatile long planStart;
+
+	public ProfilingExecutionListener() {
+		this(System.out); //NOSONAR printing the summary is the purpose of this listener
+	}
+
+	ProfilingExecutionListener(PrintStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		planStart = System.nanoTime();
+		tests.reset();
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		if (testIdentifier.isTest())
+			tests.increment();
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		long planNanos = System.nanoTime() - planStart;
+		List<CallbackStatistics> statistics = PioneerProfiler.drainStatistics();
+		if (statistics.isEmpty())
+			return;
+
+		long callbackNanos = statistics.stream().mapToLong(CallbackStatistics::totalNanos).sum();
+		StringBuilder summary = new StringBuilder()
+				.append(format(
+					"JUnit Pioneer profiling: callbacks took %.1f ms in total (summed over all threads) "
+							+ "while running %d tests in %.1f ms%n",
+					millis(callbackNanos), tests.sum(), millis(planNanos)))
+				.append(format("%-60s %12s %12s %12s %12s%n", "callback", "invocations", "total [ms]", "mean [µs]",
+					"max [µs]"));
+		for (CallbackStatistics callback : statistics)
+			summary
+					.append(format("%-60s %12d %12.1f %12.1f %12.1f%n", callback.callbackName(),
+						callback.invocations(), millis(callback.totalNanos()),
+						micros(callback.totalNanos()) / callback.invocations(), micros(callback.maxNanos())));
+		out.print(summary);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static double micros(long nanos) {
+		return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+	}
+
+}
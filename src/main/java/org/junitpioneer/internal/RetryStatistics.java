@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junitpioneer.jupiter.FlakyTestProcessor;
+
+/**
+ * Pioneer-internal statistics about the outcomes of {@code @RetryingTest} methods, which are
+ * persisted in a file across test plan executions.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>The extension {@link #record(Path, String, Outcome) records} each test's outcome in memory
+ * and {@link RetryStatisticsExecutionListener} merges them into the file when the test plan
+ * execution finished.</p>
+ *
+ * <p>The file has one line per test with the number of passes, passes after retries, failures,
+ * and consecutive failures as well as the test's unique ID (all separated by tabs).</p>
+ */
+public final class RetryStatistics {
+
+	public static final String FILE_PROPERTY_NAME = "junitpioneer.retrying-test.statistics.file";
+
+	/**
+	 * After this many recorded passes without a single retry or failure, a test is considered stable.
+	 */
+	static final int STABLE_AFTER_PASSES = 10;
+
+	/**
+	 * After this many consecutive failures, a test is considered broken.
+	 */
+	static final int BROKEN_AFTER_FAILURES = 3;
+
+	private static final String COLUMN_SEPARATOR = "\t";
+
+	private static final Queue<Recording> RECORDINGS = new ConcurrentLinkedQueue<>();
+
+	private final Map<String, TestHistory> histories;
+
+	private RetryStatistics(Map<String, TestHistory> histories) {
+		this.histories = histories;
+	}
+
+	/**
+	 * Records the outcome of the specified test if there's anybody interested in it, i.e. if a
+	 * statistics file is configured or a {@link FlakyTestProcessor} is present.
+	 *
+	 * @param statisticsFile the configured file or {@code null} if there is none
+	 */
+	public static void record(Path statisticsFile, String testId, Outcome outcome) {
+		if (statisticsFile != null || FlakyTestProcessors.PRESENT)
+			RECORDINGS.add(new Recording(statisticsFile, testId, outcome));
+	}
+
+	static List<Recording> drainRecordings() {
+		List<Recording> recordings = new ArrayList<>();
+		Recording recording = RECORDINGS.poll();
+		while (recording != null) {
+			recordings.add(recording);
+			recording = RECORDINGS.poll();
+		}
+		return recordings;
+	}
+
+	static List<FlakyTestProcessor> loadFlakyTestProcessors() {
+		List<FlakyTestProcessor> processors = new ArrayList<>();
+		ServiceLoader.load(FlakyTestProcessor.class).forEach(processors::add);
+		return Collections.unmodifiableList(processors);
+	}
+
+	/**
+	 * Loads the statistics from the specified file - if it doesn't exist, the statistics are empty.
+	 */
+	public static RetryStatistics load(Path statisticsFile) {
+		Map<String, TestHistory> histories = new TreeMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(statisticsFile, UTF_8)) {
+			String line = reader.readLine();
+			while (line != null) {
+				if (!line.isEmpty())
+					parseLine(line, histories);
+				line = reader.readLine();
+			}
+		}
+		catch (NoSuchFileException ex) {
+			// no statistics were recorded yet
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not read retry statistics `%s`.", statisticsFile), ex);
+		}
+		return new RetryStatistics(histories);
+	}
+
+	private static void parseLine(String line, Map<String, TestHistory> histories) {
+		// the unique ID is the last column, so it may contain the separator
+		String[] columns = line.split(COLUMN_SEPARATOR, 5);
+		try {
+			TestHistory history = new TestHistory(Integer.parseInt(columns[0]), Integer.parseInt(columns[1]),
+				Integer.parseInt(columns[2]), Integer.parseInt(columns[3]));
+			histories.put(columns[4], history);
+		}
+		catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+			// a corrupt line only loses the history of one test, so skip it instead of failing the run
+		}
+	}
+
+	/**
+	 * Saves the statistics to the specified file by replacing it.
+	 */
+	void save(Path statisticsFile) {
+		try {
+			Path directory = statisticsFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			// write to a temporary file first, so an interrupted run doesn't leave a corrupt file behind
+			Path temporaryFile = Files.createTempFile(directory, statisticsFile.getFileName().toString(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, UTF_8)) {
+				for (Map.Entry<String, TestHistory> entry : histories.entrySet()) {
+					TestHistory history = entry.getValue();
+					writer
+							.write(String
+									.join(COLUMN_SEPARATOR, String.valueOf(history.passes),
+										String.valueOf(history.passesAfterRetries), String.valueOf(history.failures),
+										String.valueOf(history.consecutiveFailures), entry.getKey()));
+					writer.newLine();
+				}
+			}
+			Files.move(temporaryFile, statisticsFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not write retry statistics `%s`.", statisticsFile), ex);
+		}
+	}
+
+	/**
+	 * Returns the history of the specified test (which is empty if nothing was recorded yet).
+	 */
+	public TestHistory history(String testId) {
+		return histories.getOrDefault(testId, new TestHistory(0, 0, 0, 0));
+	}
+
+	TestHistory add(String testId, Outcome outcome) {
+		TestHistory history = history(testId).add(outcome);
+		histories.put(testId, history);
+		return history;
+	}
+
+	public enum Outcome {
+		PASSED, PASSED_AFTER_RETRIES, FAILED
+	}
+
+	/**
+	 * The recorded outcomes of a single test.
+	 */
+	public static final class TestHistory {
+
+		private final int passes;
+		private final int passesAfterRetries;
+		private final int failures;
+		private final int consecutiveFailures;
+
+		TestHistory(int passes, int passesAfterRetries, int failures, int consecutiveFailures) {
+			this.passes = passes;
+			this.passesAfterRetries = passesAfterRetries;
+			this.failures = failures;
+			this.consecutiveFailures = consecutiveFailures;
+		}
+
+		TestHistory add(Outcome outcome) {
+			switch (outcome) {
+				case PASSED:
+					return new TestHistory(passes + 1, passesAfterRetries, failures, 0);
+				case PASSED_AFTER_RETRIES:
+					return new TestHistory(passes, passesAfterRetries + 1, failures, 0);
+				case FAILED:
+					return new TestHistory(passes, passesAfterRetries, failures + 1, consecutiveFailures + 1);
+				default:
+					throw new IllegalArgumentException("Unknown outcome " + outcome);
+			}
+		}
+
+		int passes() {
+			return passes;
+		}
+
+		int passesAfterRetries() {
+			return passesAfterRetries;
+		}
+
+		int failures() {
+			return failures;
+		}
+
+		/**
+		 * Adapts the number of attempts to the test's history: tests that are broken aren't retried
+		 * and stable tests are retried once; all others are retried as often as configured.
+		 */
+		public int adaptMaxAttempts(int maxAttempts, int minSuccess) {
+			if (consecutiveFailures >= BROKEN_AFTER_FAILURES)
+				return minSuccess;
+			boolean stable = passes >= STABLE_AFTER_PASSES && passesAfterRetries == 0 && failures == 0;
+			if (stable)
+				return Math.min(maxAttempts, minSuccess + 1);
+			return maxAttempts;
+		}
+
+	}
+
+	static final class Recording {
+
+		private final Path statisticsFile;
+		private final String testId;
+		private final Outcome outcome;
+
+		private Recording(Path statisticsFile, String testId, Outcome outcome) {
+			this.statisticsFile = statisticsFile;
+			this.testId = testId;
+			this.outcome = outcome;
+		}
+
+		Path statisticsFile() {
+			return statisticsFile;
+		}
+
+		String testId() {
+			return testId;
+		}
+
+		Outcome outcome() {
+			return outcome;
+		}
+
+	}
+
+	private static final class FlakyTestProcessors {
+
+		// the lookup is only done once (when this class is initialized)
+		static final boolean PRESENT = ServiceLoader.load(FlakyTestProcessor.class).iterator().hasNext();
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.util.stream.Collectors.groupingBy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.junitpioneer.internal.RetryStatistics.Outcome;
+import org.junitpioneer.internal.RetryStatistics.Recording;
+import org.junitpioneer.internal.RetryStatistics.TestHistory;
+import org.junitpioneer.jupiter.FlakyTest;
+import org.junitpioneer.jupiter.FlakyTestProcessor;
+
+/**
+ * Pioneer-internal listener that merges the outcomes of {@code @RetryingTest} methods into the
+ * {@link RetryStatistics retry statistics} and reports flaky tests to the {@link FlakyTestProcessor}s
+ * when the test plan execution finished.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>Like {@link ProfilingExecutionListener}, this listener is active as soon as Pioneer is on the
+ * class/module path. Since it can't access the configuration parameters, it relies on the extension
+ * to record the statistics file along with each outcome and does nothing if none were recorded.</p>
+ */
+public class RetryStatisticsExecutionListener implements TestExecutionListener {
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		List<Recording> recordings = RetryStatistics.drainRecordings();
+		if (recordings.isEmpty())
+			return;
+
+		Map<String, TestHistory> histories = updateStatistics(recordings);
+		List<FlakyTest> flakyTests = new ArrayList<>();
+		for (Recording recording : recordings)
+			if (recording.outcome() == Outcome.PASSED_AFTER_RETRIES) {
+				TestHistory history = histories.getOrDefault(recording.testId(), new TestHistory(0, 1, 0, 0));
+				flakyTests
+						.add(new FlakyTest(recording.testId(), history.passes(), history.passesAfterRetries(),
+							history.failures()));
+			}
+		if (flakyTests.isEmpty())
+			return;
+
+		List<FlakyTest> unmodifiableFlakyTests = Collections.unmodifiableList(flakyTests);
+		for (FlakyTestProcessor processor : RetryStatistics.loadFlakyTestProcessors())
+			processor.processFlakyTests(unmodifiableFlakyTests);
+	}
+
+	private static Map<String, TestHistory> updateStatistics(List<Recording> recordings) {
+		Map<String, TestHistory> histories = new HashMap<>();
+		//@formatter:off
+		Map<Path, List<Recording>> recordingsByFile = recordings
+				.stream()
+				.filter(recording -> Objects.nonNull(recording.statisticsFile()))
+				.collect(groupingBy(Recording::statisticsFile));
+		//@formatter:on
+		recordingsByFile.forEach((file, recordingsForFile) -> {
+			RetryStatistics statistics = RetryStatistics.load(file);
+			for (Recording recording : recordingsForFile)
+				histories.put(recording.testId(), statistics.add(recording.testId(), recording.outcome()));
+			statistics.save(file);
+		});
+		return histories;
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pioneer-internal class that finds which of a fixed set of substrings a text contains
+ * by scanning the text once, regardless of how many substrings there are (an Aho-Corasick automaton).
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>Instances are immutable and thus thread-safe.</p>
+ */
+public class SubstringMatcher {
+
+	private static final int ROOT = 0;
+	private static final int NO_TRANSITION = -1;
+
+	private final String[] substrings;
+
+	// per state: the (sorted) characters that lead to another state and the corresponding target states
+	private final char[][] transitionCharacters;
+	private final int[][] transitionTargets;
+	// per state: the state representing the longest proper suffix that is also a prefix of a substring
+	private final int[] failureLinks;
+	// per state: indices of all substrings that end in this state (directly or via failure links)
+	private final int[][] matches;
+
+	public SubstringMatcher(String[] substrings) {
+		this.substrings = substrings.clone();
+
+		List<Map<Character, Integer>> trie = new ArrayList<>();
+		List<Set<Integer>> output = new ArrayList<>();
+		addState(trie, output);
+		for (int index = 0; index < substrings.length; index++) {
+			int state = ROOT;
+			for (char character : substrings[index].toCharArray()) {
+				Integer next = trie.get(state).get(character);
+				if (next == null) {
+					next = addState(trie, output);
+					trie.get(state).put(character, next);
+				}
+				state = next;
+			}
+			output.get(state).add(index);
+		}
+
+		int stateCount = trie.size();
+		transitionCharacters = new char[stateCount][];
+		transitionTargets = new int[stateCount][];
+		for (int state = 0; state < stateCount; state++) {
+			Map<Character, Integer> transitions = trie.get(state);
+			transitionCharacters[state] = new char[transitions.size()];
+			transitionTargets[state] = new int[transitions.size()];
+			int position = 0;
+			for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+				transitionCharacters[state][position] = transition.getKey();
+				transitionTargets[state][position] = transition.getValue();
+				position++;
+			}
+		}
+
+		// breadth-first, so the failure links of shorter prefixes are known before they are needed
+		failureLinks = new int[stateCount];
+		Queue<Integer> queue = new ArrayDeque<>();
+		queue.add(ROOT);
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			for (Map.Entry<Character, Integer> transition : trie.get(state).entrySet()) {
+				int child = transition.getValue();
+				if (state != ROOT)
+					failureLinks[child] = step(failureLinks[state], transition.getKey());
+				output.get(child).addAll(output.get(failureLinks[child]));
+				queue.add(child);
+			}
+		}
+
+		matches = new int[stateCount][];
+		for (int state = 0; state < stateCount; state++)
+			matches[state] = output.get(state).stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static int addState(List<Map<Character, Integer>> trie, List<Set<Integer>> output) {
+		trie.add(new TreeMap<>());
+		// sorted, so matches are reported in the order in which the substrings were specified
+		output.add(new TreeSet<>());
+		return trie.size() - 1;
+	}
+
+	/**
+	 * Determines whether the specified text contains at least one of the substrings
+	 * (according to {@link String#contains(CharSequence)}).
+	 */
+	public boolean isAnyContainedIn(CharSequence text) {
+		if (matches[ROOT].length > 0)
+			return true;
+		int state = ROOT;
+		for (int i = 0; i < text.length(); i++) {
+			state = step(state, text.charAt(i));
+			if (matches[state].length > 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns all substrings (in the order they were specified) that the specified text contains
+	 * (according to {@link String#contains(CharSequence)}).
+	 */
+	public List<String> findAllContainedIn(CharSequence text) {
+		boolean[] found = new boolean[substrings.length];
+		int state = ROOT;
+		markMatches(state, found);
+		for (int i = 0; i < text.length(); i++) {
+			state = step(state, text.charAt(i));
+			markMatches(state, found);
+		}
+
+		List<String> contained = new ArrayList<>();
+		for (int index = 0; index < substrings.length; index++)
+			if (found[index])
+				contained.add(substrings[index]);
+		return contained.isEmpty() ? Collections.emptyList() : contained;
+	}
+
+	private void markMatches(int state, boolean[] found) {
+		for (int index : matches[state])
+			found[index] = true;
+	}
+
+	private int step(int state, char character) {
+		int current = state;
+		while (true) {
+			int next = transition(current, character);
+			if (next != NO_TRANSITION)
+				return next;
+			if (current == ROOT)
+				return ROOT;
+			current = failureLinks[current];
+		}
+	}
+
+	private int transition(int state, char character) {
+		int position = Arrays.binarySearch(transitionCharacters[state], character);
+		return position < 0 ? NO_TRANSITION : transitionTargets[state][position];
+	}
+
+}
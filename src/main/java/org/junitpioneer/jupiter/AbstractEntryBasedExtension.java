@@ -13,8 +13,10 @@ package org.junitpioneer.jupiter;
 import static java.util.stream.Collectors.toMap;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -31,6 +33,8 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.junit.platform.commons.support.AnnotationSupport;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 import org.junitpioneer.internal.PioneerUtils;
 
 /**
@@ -45,49 +49,75 @@ import org.junitpioneer.internal.PioneerUtils;
 abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends Annotation>
 		implements BeforeAllCallback, BeforeEachCallback, AfterAllCallback, AfterEachCallback {
 
+	private final Class<C> clearAnnotationType;
+	private final Class<S> setAnnotationType;
+
+	AbstractEntryBasedExtension() {
+		// resolve the annotation types once instead of in every callback
+		this.clearAnnotationType = getActualTypeArgumentAt(2);
+		this.setAnnotationType = getActualTypeArgumentAt(3);
+	}
+
 	@Override
 	public void beforeAll(ExtensionContext context) {
-		clearAndSetEntries(context);
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeAll")) {
+			clearAndSetEntries(context);
+		}
 	}
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		clearAndSetEntries(context);
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			clearAndSetEntries(context);
+		}
 	}
 
 	private void clearAndSetEntries(ExtensionContext context) {
-		Set<K> entriesToClear;
-		Map<K, V> entriesToSet;
+		EntryPlan plan = getEntryPlan(context);
+		if (plan.isEmpty())
+			return;
 
+		reportWarning(context);
+		storeOriginalEntries(context, plan.entriesToClear, plan.entriesToSet.keySet());
+		clearAndSetEntries(plan.entriesToClear, plan.entriesToSet);
+	}
+
+	private EntryPlan getEntryPlan(ExtensionContext context) {
+		// the entries only depend on the annotated element, so they are computed (and validated) once per
+		// element and test run - each repetition or invocation of a test template only applies them;
+		// `getOrComputeIfAbsent` doesn't cache exceptions, so misconfigurations are reported every time
+		return context
+				.getElement()
+				.map(element -> context
+						.getRoot()
+						.getStore(Namespace.create(getClass(), EntryPlan.class))
+						.getOrComputeIfAbsent(element, this::createEntryPlan, EntryPlan.class))
+				.orElseGet(EntryPlan::new);
+	}
+
+	private EntryPlan createEntryPlan(AnnotatedElement element) {
 		try {
-			entriesToClear = findEntriesToClear(context);
-			entriesToSet = findEntriesToSet(context);
+			Set<K> entriesToClear = findEntriesToClear(element);
+			Map<K, V> entriesToSet = findEntriesToSet(element);
 			preventClearAndSetSameEntries(entriesToClear, entriesToSet.keySet());
+			return new EntryPlan(entriesToClear, entriesToSet);
 		}
 		catch (IllegalStateException ex) {
 			throw new ExtensionConfigurationException("Don't clear/set the same entry more than once.", ex);
 		}
-
-		if (entriesToClear.isEmpty() && entriesToSet.isEmpty())
-			return;
-
-		reportWarning(context);
-		storeOriginalEntries(context, entriesToClear, entriesToSet.keySet());
-		clearEntries(entriesToClear);
-		setEntries(entriesToSet);
 	}
 
-	private Set<K> findEntriesToClear(ExtensionContext context) {
-		return findAnnotations(context, getClearAnnotationType())
+	private Set<K> findEntriesToClear(AnnotatedElement element) {
+		return findAnnotations(element, clearAnnotationType)
 				.map(clearKeyMapper())
 				.collect(PioneerUtils.distinctToSet());
 	}
 
-	private Map<K, V> findEntriesToSet(ExtensionContext context) {
-		return findAnnotations(context, getSetAnnotationType()).collect(toMap(setKeyMapper(), setValueMapper()));
+	private Map<K, V> findEntriesToSet(AnnotatedElement element) {
+		return findAnnotations(element, setAnnotationType).collect(toMap(setKeyMapper(), setValueMapper()));
 	}
 
-	private <A extends Annotation> Stream<A> findAnnotations(ExtensionContext context, Class<A> clazz) {
+	private <A extends Annotation> Stream<A> findAnnotations(AnnotatedElement element, Class<A> clazz) {
 		/*
 		 * Implementation notes:
 		 *
@@ -96,15 +126,7 @@ abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends
 		 * extension points and discover the variables to set/clear. That means we don't need to search for
 		 * enclosing annotations here.
 		 */
-		return AnnotationSupport.findRepeatableAnnotations(context.getElement(), clazz).stream();
-	}
-
-	private Class<C> getClearAnnotationType() {
-		return getActualTypeArgumentAt(2);
-	}
-
-	private Class<S> getSetAnnotationType() {
-		return getActualTypeArgumentAt(3);
+		return AnnotationSupport.findRepeatableAnnotations(element, clazz).stream();
 	}
 
 	private <T> Class<T> getActualTypeArgumentAt(int index) {
@@ -129,22 +151,18 @@ abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends
 		getStore(context).put(getStoreKey(context), new EntriesBackup(entriesToClear, entriesToSet));
 	}
 
-	private void clearEntries(Collection<K> entriesToClear) {
-		entriesToClear.forEach(this::clearEntry);
-	}
-
-	private void setEntries(Map<K, V> entriesToSet) {
-		entriesToSet.forEach(this::setEntry);
-	}
-
 	@Override
 	public void afterEach(ExtensionContext context) throws Exception {
-		restoreOriginalEntries(context);
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			restoreOriginalEntries(context);
+		}
 	}
 
 	@Override
 	public void afterAll(ExtensionContext context) throws Exception {
-		restoreOriginalEntries(context);
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterAll")) {
+			restoreOriginalEntries(context);
+		}
 	}
 
 	private void restoreOriginalEntries(ExtensionContext context) {
@@ -159,6 +177,29 @@ abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends
 		return context.getUniqueId();
 	}
 
+	/**
+	 * The validated entries to clear and set for an annotated element.
+	 */
+	private class EntryPlan {
+
+		private final Set<K> entriesToClear;
+		private final Map<K, V> entriesToSet;
+
+		public EntryPlan() {
+			this(Collections.emptySet(), Collections.emptyMap());
+		}
+
+		public EntryPlan(Set<K> entriesToClear, Map<K, V> entriesToSet) {
+			this.entriesToClear = Collections.unmodifiableSet(entriesToClear);
+			this.entriesToSet = Collections.unmodifiableMap(entriesToSet);
+		}
+
+		public boolean isEmpty() {
+			return entriesToClear.isEmpty() && entriesToSet.isEmpty();
+		}
+
+	}
+
 	private class EntriesBackup {
 
 		private final Set<K> entriesToClear = new HashSet<>();
@@ -179,8 +220,7 @@ abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends
 		}
 
 		public void restoreBackup() {
-			entriesToClear.forEach(AbstractEntryBasedExtension.this::clearEntry);
-			entriesToSet.forEach(AbstractEntryBasedExtension.this::setEntry);
+			clearAndSetEntries(entriesToClear, entriesToSet);
 		}
 
 	}
@@ -215,6 +255,16 @@ abstract class AbstractEntryBasedExtension<K, V, C extends Annotation, S extends
 	 */
 	protected abstract void setEntry(K key, V value);
 
+	/**
+	 * Removes the entries indicated by the specified keys and then sets the specified entries.
+	 * By default, this clears and sets one entry after another, but extensions can override
+	 * this method to apply all changes in one operation.
+	 */
+	protected void clearAndSetEntries(Collection<K> entriesToClear, Map<K, V> entriesToSet) {
+		entriesToClear.forEach(this::clearEntry);
+		entriesToSet.forEach(this::setEntry);
+	}
+
 	/**
 	 * Reports a warning about potentially unsafe practices.
 	 */
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Forwards bytes to an output stream on a background thread, so writing them never blocks
+ * the caller. If the bounded queue of pending chunks is full, chunks are dropped (and the
+ * number of dropped bytes is reported when the forwarder is closed).
+ */
+class AsyncForwarder implements AutoCloseable {
+
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final byte[] END = new byte[0];
+
+	private final OutputStream target;
+	private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final AtomicLong droppedBytes = new AtomicLong();
+	private final Thread thread;
+	private volatile boolean closed;
+	private volatile IOException failure;
+
+	AsyncForwarder(OutputStream target) {
+		this.target = target;
+		this.thread = new Thread(this::forwardChunks, "junit-pioneer-stdout-tee");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	void forward(byte[] b, int off, int len) {
+		if (closed || failure != null || len == 0)
+			return;
+		if (!chunks.offer(Arrays.copyOfRange(b, off, off + len)))
+			droppedBytes.addAndGet(len);
+	}
+
+	private void forwardChunks() {
+		try {
+			byte[] chunk = chunks.take();
+			while (chunk != END) {
+				target.write(chunk);
+				// flush once the queue ran dry instead of after each chunk
+				if (chunks.isEmpty())
+					target.flush();
+				chunk = chunks.take();
+			}
+			target.flush();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException ex) {
+			// the original stream is broken, so further output is dropped and `close` reports the failure
+			failure = ex;
+		}
+	}
+
+	/**
+	 * Waits until all pending chunks were forwarded and stops the background thread.
+	 *
+	 * @throws UncheckedIOException if forwarding failed
+	 */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			// if the thread died, nobody takes chunks from the queue anymore, so it may stay full
+			while (!chunks.offer(END, 100, TimeUnit.MILLISECONDS))
+				if (!thread.isAlive())
+					break;
+			thread.join();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		if (failure != null)
+			throw new UncheckedIOException("Failed to forward output to the original stream.", failure);
+		long dropped = droppedBytes.get();
+		if (dropped > 0)
+			reportDroppedBytes(dropped);
+	}
+
+	private void reportDroppedBytes(long dropped) {
+		String message = String
+				.format("[JUnit Pioneer: %d bytes of output were not forwarded because the console was too slow]%n",
+					dropped);
+		try {
+			target.write(message.getBytes(Charset.defaultCharset()));
+			target.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+/**
+ * {@code @CaptureLogs} is a JUnit Jupiter extension that captures the records logged with
+ * {@code java.util.logging} during a test in memory instead of handing them to the handlers
+ * of the root logger. The captured records can be inspected with a {@link CapturedLogs}
+ * parameter and if the test fails or is aborted, they are passed on to the original handlers.
+ *
+ * <p>For the duration of each test, the root logger's handlers are replaced by a handler that
+ * keeps the last {@link #capacity()} records in a ring buffer. Unless a {@link #level()} is given,
+ * the loggers' levels are left unchanged. Records are only formatted when they are inspected or
+ * passed on.</p>
+ *
+ * <p>This requires {@code java.util.logging}'s own {@link java.util.logging.LogManager LogManager}.
+ * If another one is configured (e.g. log4j's bridge with the system property
+ * {@code java.util.logging.manager}), records don't reach the root logger's handlers and the test
+ * fails with an {@link org.junit.jupiter.api.extension.ExtensionConfigurationException}.</p>
+ *
+ * <p>On Java 9 and later, {@code System.Logger} delegates to {@code java.util.logging} by default,
+ * so records logged with it are captured as well.</p>
+ *
+ * <p>{@code CaptureLogs} can be used on the method and on the class level. If a class is annotated,
+ * the logs of each test in the class are captured.</p>
+ *
+ * <p>During
+ * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
+ * all tests annotated with {@link CaptureLogs} are scheduled in a way that guarantees
+ * correctness under mutation of shared global state.
+ * </p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/capture-logs/" target="_top">the documentation on <code>@CaptureLogs</code></a>.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Inherited
+@ResourceLock(value = CaptureLogsExtension.ROOT_LOGGER_RESOURCE, mode = ResourceAccessMode.READ_WRITE)
+@ExtendWith(CaptureLogsExtension.class)
+public @interface CaptureLogs {
+
+	/**
+	 * The minimum level of the captured records, given as a
+	 * {@link java.util.logging.Level#parse(String) level name or value}.
+	 * The root logger's level is set to it for the duration of the test.
+	 *
+	 * <p>By default, the level is not changed, so the loggers' configured levels decide which
+	 * records are captured. Setting a fine-grained level like {@code ALL} enables all logging
+	 * in the JVM, which can slow down libraries that log a lot.</p>
+	 */
+	String level() default "";
+
+	/**
+	 * How many records are kept - if more are logged, only the last ones are kept.
+	 */
+	int capacity() default 1024;
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.String.format;
+import static org.junitpioneer.internal.PioneerAnnotationUtils.findClosestEnclosingAnnotation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
+
+class CaptureLogsExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
+
+	static final String ROOT_LOGGER_RESOURCE = "java.util.logging.LogManager";
+
+	private static final Namespace NAMESPACE = Namespace.create(CaptureLogsExtension.class);
+
+	private static final String CAPTURED_LOGS_KEY = "CaptureLogs_Captured";
+	private static final String ORIGINAL_HANDLERS_KEY = "CaptureLogs_Original_Handlers";
+	private static final String ORIGINAL_LEVEL_KEY = "CaptureLogs_Original_Level";
+
+	@Override
+	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return parameterContext.getParameter().getType() == CapturedLogs.class;
+	}
+
+	@Override
+	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return extensionContext.getStore(NAMESPACE).get(CAPTURED_LOGS_KEY, CapturedLogs.class);
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			captureLogs(context);
+		}
+	}
+
+	private void captureLogs(ExtensionContext context) {
+		CaptureLogs captureLogs = findClosestEnclosingAnnotation(context, CaptureLogs.class)
+				.orElseThrow(() -> new ExtensionConfigurationException(
+					format("CaptureLogsExtension is active but no %s annotation was found.",
+						CaptureLogs.class.getName())));
+		// an empty level means the loggers' configured levels are left as they are
+		Level level = captureLogs.level().isEmpty() ? null : parseLevel(captureLogs.level());
+		if (captureLogs.capacity() < 1)
+			throw new ExtensionConfigurationException(
+				format("@CaptureLogs must have a positive capacity but it was %d.", captureLogs.capacity()));
+		verifyJdkLogManager();
+
+		CapturedLogs capturedLogs = new CapturedLogs(captureLogs.capacity());
+		Logger rootLogger = Logger.getLogger("");
+		Store store = context.getStore(NAMESPACE);
+		store.put(CAPTURED_LOGS_KEY, capturedLogs);
+		store.put(ORIGINAL_HANDLERS_KEY, Arrays.asList(rootLogger.getHandlers()));
+
+		for (Handler handler : rootLogger.getHandlers())
+			rootLogger.removeHandler(handler);
+		rootLogger.addHandler(capturedLogs);
+		if (level != null) {
+			capturedLogs.setLevel(level);
+			// the root logger's level may be `null`, which the store can't tell apart from a missing entry
+			store.put(ORIGINAL_LEVEL_KEY, Optional.ofNullable(rootLogger.getLevel()));
+			rootLogger.setLevel(level);
+		}
+	}
+
+	private static void verifyJdkLogManager() {
+		// other log managers (e.g. log4j's `org.apache.logging.log4j.jul.LogManager`) hand their
+		// loggers' records to another logging framework instead of the root logger's handlers,
+		// so nothing would be captured
+		Class<?> logManagerType = LogManager.getLogManager().getClass();
+		if (logManagerType != LogManager.class)
+			throw new ExtensionConfigurationException(format(
+				"@CaptureLogs requires java.util.logging's own LogManager, but %s is in use "
+						+ "(probably because the system property `java.util.logging.manager` is set).",
+				logManagerType.getName()));
+	}
+
+	private static Level parseLevel(String level) {
+		try {
+			return Level.parse(level);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new ExtensionConfigurationException(format("@CaptureLogs has an unknown level `%s`.", level), ex);
+		}
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			restoreHandlers(context);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void restoreHandlers(ExtensionContext context) {
+		// only restore the logger if it was actually changed in "before"
+		Store store = context.getStore(NAMESPACE);
+		CapturedLogs capturedLogs = store.get(CAPTURED_LOGS_KEY, CapturedLogs.class);
+		if (capturedLogs == null)
+			return;
+
+		Logger rootLogger = Logger.getLogger("");
+		List<Handler> originalHandlers = store.get(ORIGINAL_HANDLERS_KEY, List.class);
+		rootLogger.removeHandler(capturedLogs);
+		originalHandlers.forEach(rootLogger::addHandler);
+		Optional<Level> originalLevel = store.get(ORIGINAL_LEVEL_KEY, Optional.class);
+		if (originalLevel != null)
+			rootLogger.setLevel(originalLevel.orElse(null));
+
+		// `getExecutionException` contains failures as well as aborts (e.g. failed assumptions)
+		if (context.getExecutionException().isPresent())
+			passOnRecords(capturedLogs, originalHandlers);
+	}
+
+	private static void passOnRecords(CapturedLogs capturedLogs, List<Handler> handlers) {
+		// the handlers check the records' levels themselves
+		capturedLogs.records().forEach(logRecord -> handlers.forEach(handler -> handler.publish(logRecord)));
+		handlers.forEach(Handler::flush);
+	}
+
+}
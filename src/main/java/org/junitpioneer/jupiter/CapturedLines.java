@@ -0,0 +1,296 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Decodes captured bytes (with the default charset) as they arrive and splits them into lines,
+ * so requesting the lines doesn't decode and split everything that was captured so far.
+ *
+ * <p>If a maximum is given, only the last characters up to that number are kept (including
+ * line separators), which may cut off the beginning of the first line.</p>
+ *
+ * <p>Completed lines are only ever appended to the list that holds them (dropping the oldest
+ * ones moves the list's start instead of removing them), so snapshots of the captured lines
+ * can share that list instead of copying it.</p>
+ */
+class CapturedLines {
+
+	private static final String SEPARATOR = StdIoExtension.SEPARATOR;
+
+	private final int maxCapturedChars;
+
+	private final CharsetDecoder decoder = Charset
+			.defaultCharset()
+			.newDecoder()
+			.onMalformedInput(REPLACE)
+			.onUnmappableCharacter(REPLACE);
+	private final CharBuffer decoded = CharBuffer.allocate(1024);
+	// bytes of a character that was split across writes
+	private byte[] undecoded = new byte[0];
+
+	// completed lines (without separators) from `firstLine` on - the ones before were dropped,
+	// but stay in the list until it's compacted (which creates a new list, so snapshots are unaffected)
+	private List<String> lines = new ArrayList<>();
+	private int firstLine;
+	// characters that were dropped from the beginning of the first line
+	private int firstLineOffset;
+	// the line that is still being written
+	private final StringBuilder currentLine = new StringBuilder();
+	private long capturedChars;
+	// needed to number lines consistently when the oldest ones are dropped
+	private long droppedLines;
+
+	/**
+	 * @param maxCapturedChars the maximum number of characters to keep (the last ones captured);
+	 * 			a value smaller than one means the captured lines are not limited
+	 */
+	CapturedLines(int maxCapturedChars) {
+		this.maxCapturedChars = maxCapturedChars < 1 ? Integer.MAX_VALUE : maxCapturedChars;
+	}
+
+	synchronized void append(byte[] b, int off, int len) {
+		if (len == 0)
+			return;
+
+		ByteBuffer input = prependUndecoded(b, off, len);
+		decode(input, false);
+		undecoded = new byte[input.remaining()];
+		input.get(undecoded);
+
+		notifyAll();
+	}
+
+	/**
+	 * Decodes the bytes of a character that may have been split across writes - if there are any,
+	 * the input ended in the middle of a character, which is then replaced. Bytes that are appended
+	 * afterwards are still captured.
+	 */
+	synchronized void close() {
+		decode(ByteBuffer.wrap(undecoded), true);
+		CoderResult result;
+		do {
+			result = decoder.flush(decoded);
+			appendDecoded();
+		} while (result.isOverflow());
+		undecoded = new byte[0];
+		decoder.reset();
+
+		notifyAll();
+	}
+
+	private ByteBuffer prependUndecoded(byte[] b, int off, int len) {
+		if (undecoded.length == 0)
+			return ByteBuffer.wrap(b, off, len);
+		byte[] bytes = new byte[undecoded.length + len];
+		System.arraycopy(undecoded, 0, bytes, 0, undecoded.length);
+		System.arraycopy(b, off, bytes, undecoded.length, len);
+		return ByteBuffer.wrap(bytes);
+	}
+
+	private void decode(ByteBuffer input, boolean endOfInput) {
+		// the limit is applied to the decoded characters (after each chunk, so a large write
+		// doesn't pile up) because how many bytes a character takes depends on the charset
+		CoderResult result;
+		do {
+			result = decoder.decode(input, decoded, endOfInput);
+			appendDecoded();
+		} while (result.isOverflow());
+	}
+
+	private void appendDecoded() {
+		decoded.flip();
+		appendChars(decoded);
+		decoded.clear();
+		dropOldestChars();
+	}
+
+	private void appendChars(CharSequence chars) {
+		// a separator may have been split across writes, so start looking a bit earlier
+		int searchFrom = Math.max(0, currentLine.length() - SEPARATOR.length() + 1);
+		currentLine.append(chars);
+		capturedChars += chars.length();
+
+		int separatorIndex = currentLine.indexOf(SEPARATOR, searchFrom);
+		int lineStart = 0;
+		while (separatorIndex >= 0) {
+			lines.add(currentLine.substring(lineStart, separatorIndex));
+			lineStart = separatorIndex + SEPARATOR.length();
+			separatorIndex = currentLine.indexOf(SEPARATOR, lineStart);
+		}
+		currentLine.delete(0, lineStart);
+	}
+
+	private void dropOldestChars() {
+		while (capturedChars > maxCapturedChars) {
+			long excess = capturedChars - maxCapturedChars;
+			if (firstLine == lines.size()) {
+				currentLine.delete(0, (int) excess);
+				capturedChars -= excess;
+				break;
+			}
+
+			int oldestLineLength = lines.get(firstLine).length() - firstLineOffset;
+			if (excess >= oldestLineLength) {
+				// if only (a part of) the separator would remain, drop the entire line
+				firstLine++;
+				firstLineOffset = 0;
+				droppedLines++;
+				capturedChars -= oldestLineLength + SEPARATOR.length();
+			} else {
+				firstLineOffset += (int) excess;
+				capturedChars -= excess;
+			}
+		}
+		compactLines();
+	}
+
+	private void compactLines() {
+		// only compact once most of the list was dropped, so each line is copied a constant number of times
+		if (firstLine < 1024 || firstLine < lines.size() / 2)
+			return;
+		lines = new ArrayList<>(lines.subList(firstLine, lines.size()));
+		firstLine = 0;
+	}
+
+	private String line(int index) {
+		String line = lines.get(index);
+		return index == firstLine ? line.substring(firstLineOffset) : line;
+	}
+
+	/**
+	 * Returns the captured lines like {@code capturedText.split(SEPARATOR)} would,
+	 * i.e. without trailing empty lines.
+	 */
+	synchronized List<String> snapshot() {
+		int completedLines = lines.size() - firstLine;
+		String current = currentLine.toString();
+		if (completedLines == 0)
+			return new Snapshot(this, lines, firstLine, firstLineOffset, 0, current);
+
+		if (!current.isEmpty())
+			return new Snapshot(this, lines, firstLine, firstLineOffset, completedLines, current);
+		while (completedLines > 0 && line(firstLine + completedLines - 1).isEmpty())
+			completedLines--;
+		return new Snapshot(this, lines, firstLine, firstLineOffset, completedLines, null);
+	}
+
+	/**
+	 * Returns the captured lines like {@code capturedText.split(SEPARATOR, -1)} would, i.e. each
+	 * line but the last one was followed by a separator and the last one is the line that is still
+	 * being written (which may be empty). Unlike {@link #snapshot()}, this accounts for all
+	 * captured characters.
+	 */
+	synchronized List<String> splitCapturedText() {
+		return new Snapshot(this, lines, firstLine, firstLineOffset, lines.size() - firstLine,
+			currentLine.toString());
+	}
+
+	/**
+	 * Returns the last line of {@link #snapshot()} or an empty string if there is none.
+	 */
+	synchronized String lastLine() {
+		if (currentLine.length() > 0)
+			return currentLine.toString();
+		for (int index = lines.size() - 1; index >= firstLine; index--) {
+			String line = line(index);
+			if (!line.isEmpty())
+				return line;
+		}
+		return "";
+	}
+
+	/**
+	 * Waits until a completed line (i.e. one that was followed by a separator) matches the
+	 * predicate and returns it. Lines that were captured before the call are checked, too.
+	 */
+	synchronized Optional<String> awaitLine(Predicate<String> predicate, Duration timeout)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		// count lines from the first one ever captured, so dropping the oldest lines doesn't
+		// lead to skipping lines or checking them again
+		long nextLine = droppedLines;
+		while (true) {
+			int from = (int) Math.max(firstLine, firstLine + nextLine - droppedLines);
+			for (int index = from; index < lines.size(); index++) {
+				String line = line(index);
+				if (predicate.test(line))
+					return Optional.of(line);
+			}
+			nextLine = droppedLines + lines.size() - firstLine;
+
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+				return Optional.empty();
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+	}
+
+	/**
+	 * A view of the lines that were captured when it was created. It shares the list of completed lines
+	 * with {@link CapturedLines}, which only ever appends to it, and reads from it under the same lock.
+	 */
+	private static class Snapshot extends AbstractList<String> implements RandomAccess {
+
+		private final CapturedLines owner;
+		private final List<String> lines;
+		private final int firstLine;
+		private final int firstLineOffset;
+		private final int completedLines;
+		// the line that was still being written (`null` if it's not part of the snapshot)
+		private final String currentLine;
+
+		Snapshot(CapturedLines owner, List<String> lines, int firstLine, int firstLineOffset, int completedLines,
+				String currentLine) {
+			this.owner = owner;
+			this.lines = lines;
+			this.firstLine = firstLine;
+			this.firstLineOffset = firstLineOffset;
+			this.completedLines = completedLines;
+			this.currentLine = currentLine;
+		}
+
+		@Override
+		public String get(int index) {
+			if (index < 0 || index >= size())
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			if (index == completedLines)
+				return currentLine;
+			String line;
+			synchronized (owner) {
+				line = lines.get(firstLine + index);
+			}
+			return index == 0 ? line.substring(firstLineOffset) : line;
+		}
+
+		@Override
+		public int size() {
+			return currentLine == null ? completedLines : completedLines + 1;
+		}
+
+	}
+
+}
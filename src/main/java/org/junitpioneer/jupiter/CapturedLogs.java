@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.stream.Stream;
+
+/**
+ * Captures the records that were logged during a test annotated with {@link CaptureLogs}.
+ *
+ * <p>Records are kept in a ring buffer that logging threads write to without locking, so when the
+ * buffer is full, the oldest records are overwritten. Inspecting the records while they are still
+ * being logged returns a snapshot that may miss records that are being logged at that moment.</p>
+ *
+ * <p>For details and examples, see
+ * <a href="https://junit-pioneer.org/docs/capture-logs/" target="_top">the documentation on <code>@CaptureLogs</code></a>
+ * </p>
+ *
+ * @see CaptureLogs
+ * @since 1.5.0
+ */
+public class CapturedLogs extends Handler {
+
+	private final AtomicReferenceArray<Slot> buffer;
+	private final AtomicLong logged = new AtomicLong();
+	private final Formatter messageFormatter = new SimpleFormatter();
+
+	CapturedLogs(int capacity) {
+		this.buffer = new AtomicReferenceArray<>(capacity);
+	}
+
+	@Override
+	public void publish(LogRecord logRecord) {
+		if (!isLoggable(logRecord))
+			return;
+		long index = logged.getAndIncrement();
+		buffer.set((int) (index % buffer.length()), new Slot(index, logRecord));
+	}
+
+	@Override
+	public void flush() {
+		// nothing to flush
+	}
+
+	@Override
+	public void close() {
+		// nothing to close
+	}
+
+	/**
+	 * @return the captured records in the order they were logged
+	 */
+	public List<LogRecord> records() {
+		long end = logged.get();
+		long start = Math.max(0, end - buffer.length());
+		List<LogRecord> records = new ArrayList<>((int) (end - start));
+		for (long index = start; index < end; index++) {
+			Slot slot = buffer.get((int) (index % buffer.length()));
+			// a concurrent `publish` may have claimed the index without writing the slot yet (so
+			// it still holds an older record or none) or may have already overwritten it
+			if (slot != null && slot.index == index)
+				records.add(slot.logRecord);
+		}
+		return Collections.unmodifiableList(records);
+	}
+
+	/**
+	 * @return the localized and formatted messages of the captured records in the order they were logged
+	 */
+	public Stream<String> messages() {
+		return records().stream().map(messageFormatter::formatMessage);
+	}
+
+	private static class Slot {
+
+		// the index the record was logged with, which tells records in the same slot apart
+		private final long index;
+		private final LogRecord logRecord;
+
+		Slot(long index, LogRecord logRecord) {
+			this.index = index;
+			this.logRecord = logRecord;
+		}
+
+	}
+
+}
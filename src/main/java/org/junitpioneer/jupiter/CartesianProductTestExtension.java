@@ -35,7 +35,10 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.commons.support.AnnotationSupport;
 import org.junit.platform.commons.support.ReflectionSupport;
+import org.junitpioneer.internal.DisableIfArgumentPlan;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 import org.junitpioneer.internal.PioneerUtils;
 
 class CartesianProductTestExtension implements TestTemplateInvocationContextProvider {
@@ -47,11 +50,16 @@ class CartesianProductTestExtension implements TestTemplateInvocationContextProv
 
 	@Override
 	public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
-		List<List<?>> sets = computeSets(context);
-		CartesianProductTestNameFormatter formatter = createNameFormatter(context);
-		return cartesianProduct(sets)
-				.stream()
-				.map(params -> new CartesianProductTestInvocationContext(params, formatter));
+		// the returned stream is lazy, so this only measures computing the sets and their product
+		try (Measurement measurement = PioneerProfiler
+				.measure(context, getClass(), "provideTestTemplateInvocationContexts")) {
+			List<List<?>> sets = computeSets(context);
+			CartesianProductTestNameFormatter formatter = createNameFormatter(context);
+			Stream<List<?>> argumentLists = cartesianProduct(sets).stream();
+			return DisableIfArgumentPlan
+					.filterArguments(context, argumentLists, params -> params)
+					.map(params -> new CartesianProductTestInvocationContext(params, formatter));
+		}
 	}
 
 	private CartesianProductTestNameFormatter createNameFormatter(ExtensionContext context) {
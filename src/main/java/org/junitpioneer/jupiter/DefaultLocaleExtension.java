@@ -18,6 +18,8 @@ import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 
 class DefaultLocaleExtension implements BeforeEachCallback, AfterEachCallback {
 
@@ -27,9 +29,11 @@ class DefaultLocaleExtension implements BeforeEachCallback, AfterEachCallback {
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		PioneerAnnotationUtils
-				.findClosestEnclosingAnnotation(context, DefaultLocale.class)
-				.ifPresent(annotation -> setDefaultLocale(context, annotation));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(context, DefaultLocale.class)
+					.ifPresent(annotation -> setDefaultLocale(context, annotation));
+		}
 	}
 
 	private void setDefaultLocale(ExtensionContext context, DefaultLocale annotation) {
@@ -80,9 +84,11 @@ class DefaultLocaleExtension implements BeforeEachCallback, AfterEachCallback {
 
 	@Override
 	public void afterEach(ExtensionContext context) {
-		PioneerAnnotationUtils
-				.findClosestEnclosingAnnotation(context, DefaultLocale.class)
-				.ifPresent(__ -> resetDefaultLocale(context));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(context, DefaultLocale.class)
+					.ifPresent(__ -> resetDefaultLocale(context));
+		}
 	}
 
 	private void resetDefaultLocale(ExtensionContext context) {
@@ -19,6 +19,8 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 
 class DefaultTimeZoneExtension implements BeforeEachCallback, AfterEachCallback {
 
@@ -28,9 +30,11 @@ class DefaultTimeZoneExtension implements BeforeEachCallback, AfterEachCallback
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		PioneerAnnotationUtils
-				.findClosestEnclosingAnnotation(context, DefaultTimeZone.class)
-				.ifPresent(annotation -> setDefaultTimeZone(context.getStore(NAMESPACE), annotation));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(context, DefaultTimeZone.class)
+					.ifPresent(annotation -> setDefaultTimeZone(context.getStore(NAMESPACE), annotation));
+		}
 	}
 
 	private void setDefaultTimeZone(Store store, DefaultTimeZone annotation) {
@@ -61,9 +65,11 @@ class DefaultTimeZoneExtension implements BeforeEachCallback, AfterEachCallback
 
 	@Override
 	public void afterEach(ExtensionContext context) {
-		PioneerAnnotationUtils
-				.findClosestEnclosingAnnotation(context, DefaultTimeZone.class)
-				.ifPresent(__ -> resetDefaultTimeZone(context.getStore(NAMESPACE)));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(context, DefaultTimeZone.class)
+					.ifPresent(__ -> resetDefaultTimeZone(context.getStore(NAMESPACE)));
+		}
 	}
 
 	private void resetDefaultTimeZone(Store store) {
@@ -10,6 +10,8 @@
 
 package org.junitpioneer.jupiter;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
@@ -68,4 +70,9 @@ class EnvironmentVariableExtension
 		EnvironmentVariableUtils.set(key, value);
 	}
 
+	@Override
+	protected void clearAndSetEntries(Collection<String> entriesToClear, Map<String, String> entriesToSet) {
+		EnvironmentVariableUtils.clearAndSet(entriesToClear, entriesToSet);
+	}
+
 }
@@ -11,6 +11,12 @@
 package org.junitpioneer.jupiter;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.ReflectPermission;
+import java.security.Permission;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -19,9 +25,21 @@ import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 /**
  * This class modifies the internals of the environment variables map with reflection.
  * Warning: If your {@link SecurityManager} does not allow modifications, it fails.
+ *
+ * <p>The internal maps are looked up once and then reused, so modifying many variables
+ * (and restoring them) doesn't repeat the reflective lookup for each of them.</p>
  */
 class EnvironmentVariableUtils {
 
+	private static final Permission SUPPRESS_ACCESS_CHECKS = new ReflectPermission("suppressAccessChecks");
+	private static final Permission ACCESS_DECLARED_MEMBERS = new RuntimePermission("accessDeclaredMembers");
+
+	/**
+	 * The maps backing the environment variables - {@code null} until they were looked up.
+	 * Concurrent lookups yield the same maps, so there's no need to synchronize.
+	 */
+	private static volatile List<Map<String, String>> environmentMaps;
+
 	private EnvironmentVariableUtils() {
 		// private constructor to prevent instantiation of utility class
 	}
@@ -45,19 +63,58 @@ class EnvironmentVariableUtils {
 		modifyEnvironmentVariables(map -> map.remove(name));
 	}
 
+	/**
+	 * Clear and set several environment variables in one operation.
+	 *
+	 * @param namesToClear of the environment variables to clear
+	 * @param entriesToSet names and values of the environment variables to set
+	 */
+	public static void clearAndSet(Collection<String> namesToClear, Map<String, String> entriesToSet) {
+		if (namesToClear.isEmpty() && entriesToSet.isEmpty())
+			return;
+		modifyEnvironmentVariables(map -> {
+			namesToClear.forEach(map::remove);
+			entriesToSet.forEach(map::put);
+		});
+	}
+
 	private static void modifyEnvironmentVariables(Consumer<Map<String, String>> consumer) {
+		for (Map<String, String> map : getEnvironmentMaps())
+			consumer.accept(map);
+	}
+
+	private static List<Map<String, String>> getEnvironmentMaps() {
+		// the maps are only looked up once, so check the permissions that looking them up
+		// requires every time - that way, a security manager prevents modifications as before
+		checkPermissions();
+		List<Map<String, String>> maps = environmentMaps;
+		if (maps == null) {
+			maps = findEnvironmentMaps();
+			environmentMaps = maps;
+		}
+		return maps;
+	}
+
+	private static void checkPermissions() {
+		SecurityManager securityManager = System.getSecurityManager();
+		if (securityManager != null) {
+			securityManager.checkPermission(ACCESS_DECLARED_MEMBERS);
+			securityManager.checkPermission(SUPPRESS_ACCESS_CHECKS);
+		}
+	}
+
+	private static List<Map<String, String>> findEnvironmentMaps() {
 		try {
-			setInProcessEnvironmentClass(consumer);
+			return findInProcessEnvironmentClass();
 		}
 		catch (ReflectiveOperationException ex) {
-			trySystemEnvClass(consumer, ex);
+			return trySystemEnvClass(ex);
 		}
 	}
 
-	private static void trySystemEnvClass(Consumer<Map<String, String>> consumer,
-			ReflectiveOperationException processEnvironmentClassEx) {
+	private static List<Map<String, String>> trySystemEnvClass(ReflectiveOperationException processEnvironmentClassEx) {
 		try {
-			setInSystemEnvClass(consumer);
+			return findInSystemEnvClass();
 		}
 		catch (ReflectiveOperationException ex) {
 			ex.addSuppressed(processEnvironmentClassEx);
@@ -68,8 +125,7 @@ class EnvironmentVariableUtils {
 	/*
 	 * Works on Windows
 	 */
-	private static void setInProcessEnvironmentClass(Consumer<Map<String, String>> consumer)
-			throws ReflectiveOperationException {
+	private static List<Map<String, String>> findInProcessEnvironmentClass() throws ReflectiveOperationException {
 		Class<?> processEnvironmentClass = Class.forName("java.lang.ProcessEnvironment");
 		// The order of operations is critical here: On some operating systems, theEnvironment is present but
 		// theCaseInsensitiveEnvironment is not present. In such cases, this method must throw a
@@ -78,17 +134,15 @@ class EnvironmentVariableUtils {
 		Map<String, String> theEnvironment = getFieldValue(processEnvironmentClass, null, "theEnvironment");
 		Map<String, String> theCaseInsensitiveEnvironment = getFieldValue(processEnvironmentClass, null,
 			"theCaseInsensitiveEnvironment");
-		consumer.accept(theEnvironment);
-		consumer.accept(theCaseInsensitiveEnvironment);
+		return Collections.unmodifiableList(Arrays.asList(theEnvironment, theCaseInsensitiveEnvironment));
 	}
 
 	/*
 	 * Works on Linux and OSX
 	 */
-	private static void setInSystemEnvClass(Consumer<Map<String, String>> consumer)
-			throws ReflectiveOperationException {
+	private static List<Map<String, String>> findInSystemEnvClass() throws ReflectiveOperationException {
 		Map<String, String> env = System.getenv(); //NOSONAR access required to implement the extension
-		consumer.accept(getFieldValue(env.getClass(), env, "m"));
+		return Collections.singletonList(getFieldValue(env.getClass(), env, "m"));
 	}
 
 	@SuppressWarnings("unchecked")
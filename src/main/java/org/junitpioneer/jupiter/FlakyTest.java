@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.util.Objects;
+
+/**
+ * Represents a test annotated with {@link RetryingTest @RetryingTest} that only passed
+ * after being retried, together with its recorded history.
+ *
+ * <p>If {@link RetryingTest retry statistics} are recorded, the counts cover all recorded
+ * test plan executions (including the current one), otherwise only the current one.</p>
+ *
+ * Once Pioneer baselines against Java 17, this will be a record.
+ *
+ * @since 1.5.0
+ * @see FlakyTestProcessor
+ */
+public final class FlakyTest {
+
+	private final String testId;
+	private final int passes;
+	private final int passesAfterRetries;
+	private final int failures;
+
+	/**
+	 * Constructor with all attributes.
+	 *
+	 * @param testId Unique ID of the test
+	 * @param passes How often the test passed without being retried
+	 * @param passesAfterRetries How often the test passed after being retried
+	 * @param failures How often the test failed
+	 */
+	public FlakyTest(String testId, int passes, int passesAfterRetries, int failures) {
+		this.testId = testId;
+		this.passes = passes;
+		this.passesAfterRetries = passesAfterRetries;
+		this.failures = failures;
+	}
+
+	/**
+	 * Returns the unique ID of the test.
+	 *
+	 * @return Unique ID of the test
+	 */
+	public String testId() {
+		return testId;
+	}
+
+	/**
+	 * Returns how often the test passed without being retried.
+	 *
+	 * @return Number of passes without retries
+	 */
+	public int passes() {
+		return passes;
+	}
+
+	/**
+	 * Returns how often the test passed after being retried.
+	 *
+	 * @return Number of passes after retries
+	 */
+	public int passesAfterRetries() {
+		return passesAfterRetries;
+	}
+
+	/**
+	 * Returns how often the test failed (despite being retried).
+	 *
+	 * @return Number of failures
+	 */
+	public int failures() {
+		return failures;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof FlakyTest))
+			return false;
+		FlakyTest that = (FlakyTest) o;
+		return testId.equals(that.testId) && passes == that.passes && passesAfterRetries == that.passesAfterRetries
+				&& failures == that.failures;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(testId);
+	}
+
+	@Override
+	public String toString() {
+		return "FlakyTest{" + "testId='" + testId + '\'' + ", passes=" + passes + ", passesAfterRetries="
+				+ passesAfterRetries + ", failures=" + failures + '}';
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.util.List;
+
+/**
+ * This interface offers a method to process the tests annotated with {@link RetryingTest @RetryingTest}
+ * that only passed after being retried.
+ *
+ * <p>Implementations are loaded with the {@link java.util.ServiceLoader}.</p>
+ *
+ * @since 1.5.0
+ * @see RetryingTest
+ */
+public interface FlakyTestProcessor {
+
+	/**
+	 * Processes the tests that only passed after being retried during the test plan execution
+	 * that just finished. Called once per test plan execution if there were any such tests.
+	 *
+	 * @param flakyTests List of tests that passed after being retried
+	 */
+	void processFlakyTests(List<FlakyTest> flakyTests);
+
+}
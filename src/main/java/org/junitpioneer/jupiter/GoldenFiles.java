@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.String.format;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.IntStream;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Assertions that compare output with a golden file, i.e. a file that contains the expected output.
+ *
+ * <p>The golden file is memory-mapped and compared in chunks (in parallel for large files),
+ * so it is never loaded into a {@code String}. If the output differs, the first differing line
+ * is reported.</p>
+ *
+ * <p>If the system property {@value #UPDATE_PROPERTY_NAME} is {@code true}, the assertions don't
+ * compare but write the output to the golden files, which creates or updates them.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/standard-input-output/" target="_top">the documentation on <code>Standard input/output</code></a>.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+public final class GoldenFiles {
+
+	/**
+	 * The system property that turns on updating golden files instead of comparing with them.
+	 */
+	public static final String UPDATE_PROPERTY_NAME = "junitpioneer.golden-files.update";
+
+	// smaller chunks aren't worth the overhead of comparing them in parallel
+	private static final int MIN_CHUNK_SIZE = 1 << 20;
+	private static final String END_OF_OUTPUT = "<end of output>";
+
+	private GoldenFiles() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	/**
+	 * Asserts that the text captured by the specified {@link StdOut} (encoded with the default
+	 * charset) matches the golden file - including all line separators, so trailing empty lines
+	 * and a missing separator at the end make a difference.
+	 *
+	 * <p>The lines are encoded and compared one by one, so the output is never copied as a whole.</p>
+	 */
+	public static void assertMatchesGoldenFile(Path goldenFile, StdOut actual) {
+		List<String> lines = actual.splitCapturedText();
+		if (Boolean.getBoolean(UPDATE_PROPERTY_NAME))
+			updateGoldenFile(goldenFile, lines);
+		else
+			compareWithGoldenFile(goldenFile, lines);
+	}
+
+	/**
+	 * Asserts that the specified characters (encoded with the default charset) match the golden file.
+	 */
+	public static void assertMatchesGoldenFile(Path goldenFile, CharSequence actual) {
+		ByteBuffer bytes = Charset.defaultCharset().encode(CharBuffer.wrap(actual));
+		byte[] actualBytes = new byte[bytes.remaining()];
+		bytes.get(actualBytes);
+		assertMatchesGoldenFile(goldenFile, actualBytes);
+	}
+
+	/**
+	 * Asserts that the specified bytes match the golden file.
+	 */
+	public static void assertMatchesGoldenFile(Path goldenFile, byte[] actual) {
+		if (Boolean.getBoolean(UPDATE_PROPERTY_NAME))
+			updateGoldenFile(goldenFile, actual);
+		else
+			compareWithGoldenFile(goldenFile, actual);
+	}
+
+	private static void updateGoldenFile(Path goldenFile, byte[] actual) {
+		try {
+			createDirectories(goldenFile);
+			Files.write(goldenFile, actual);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not update golden file `%s`.", goldenFile), ex);
+		}
+	}
+
+	private static void updateGoldenFile(Path goldenFile, List<String> lines) {
+		try {
+			createDirectories(goldenFile);
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(goldenFile))) {
+				for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++)
+					out.write(encodeLine(lines, lineIndex));
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not update golden file `%s`.", goldenFile), ex);
+		}
+	}
+
+	private static void createDirectories(Path goldenFile) throws IOException {
+		Path directory = goldenFile.toAbsolutePath().getParent();
+		if (directory != null)
+			Files.createDirectories(directory);
+	}
+
+	private static byte[] encodeLine(List<String> lines, int lineIndex) {
+		// all lines but the last one were followed by a separator
+		String line = lineIndex < lines.size() - 1
+				? lines.get(lineIndex) + StdIoExtension.SEPARATOR
+				: lines.get(lineIndex);
+		return line.getBytes(Charset.defaultCharset());
+	}
+
+	private static void compareWithGoldenFile(Path goldenFile, byte[] actual) {
+		try (FileChannel channel = FileChannel.open(goldenFile, StandardOpenOption.READ)) {
+			long expectedSize = channel.size();
+			// mapping doesn't read the file, so only the pages that are compared are loaded
+			int mappedSize = (int) Math.min(expectedSize, Integer.MAX_VALUE);
+			MappedByteBuffer expected = channel.map(MapMode.READ_ONLY, 0, mappedSize);
+
+			int comparedSize = Math.min(mappedSize, actual.length);
+			OptionalLong mismatch = firstMismatch(expected, ByteBuffer.wrap(actual), comparedSize);
+			if (mismatch.isPresent())
+				throw mismatchError(goldenFile, expected, actual, (int) mismatch.getAsLong());
+			if (expectedSize != actual.length)
+				throw mismatchError(goldenFile, expected, actual, comparedSize);
+		}
+		catch (NoSuchFileException ex) {
+			throw missingGoldenFileError(goldenFile);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not read golden file `%s`.", goldenFile), ex);
+		}
+	}
+
+	private static void compareWithGoldenFile(Path goldenFile, List<String> lines) {
+		try (FileChannel channel = FileChannel.open(goldenFile, StandardOpenOption.READ)) {
+			long expectedSize = channel.size();
+			int mappedSize = (int) Math.min(expectedSize, Integer.MAX_VALUE);
+			MappedByteBuffer expected = channel.map(MapMode.READ_ONLY, 0, mappedSize);
+
+			int lineStart = 0;
+			int lineEnd = 0;
+			for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++) {
+				lineStart = lineEnd;
+				byte[] line = encodeLine(lines, lineIndex);
+				int comparedSize = Math.min(line.length, mappedSize - lineStart);
+				boolean matches = comparedSize == line.length
+						&& firstMismatch(expected, lineStart, ByteBuffer.wrap(line), 0, comparedSize) < 0;
+				if (!matches)
+					throw mismatchError(goldenFile, lineIndex + 1, lineAt(expected, lineStart), lines.get(lineIndex));
+				lineEnd += line.length;
+			}
+			// the golden file continues where the last (unterminated) line ends
+			if (expectedSize != lineEnd) {
+				String lastLine = lines.get(lines.size() - 1);
+				throw mismatchError(goldenFile, lines.size(), lineAt(expected, lineStart),
+					lastLine.isEmpty() ? END_OF_OUTPUT : lastLine);
+			}
+		}
+		catch (NoSuchFileException ex) {
+			throw missingGoldenFileError(goldenFile);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(format("Could not read golden file `%s`.", goldenFile), ex);
+		}
+	}
+
+	private static AssertionFailedError missingGoldenFileError(Path goldenFile) {
+		return new AssertionFailedError(
+			format("Golden file `%s` does not exist - run with system property `%s=true` to create it.", goldenFile,
+				UPDATE_PROPERTY_NAME));
+	}
+
+	private static OptionalLong firstMismatch(ByteBuffer expected, ByteBuffer actual, int size) {
+		int chunkCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_CHUNK_SIZE));
+		int chunkSize = size / chunkCount;
+		//@formatter:off
+		return IntStream
+				.range(0, chunkCount)
+				.parallel()
+				.mapToLong(chunk -> firstMismatch(
+						expected,
+						0,
+						actual,
+						chunk * chunkSize,
+						chunk == chunkCount - 1 ? size : (chunk + 1) * chunkSize))
+				.filter(index -> index >= 0)
+				.min();
+		//@formatter:on
+	}
+
+	/**
+	 * Returns the first index in {@code [from, to)} for which {@code actual} differs from
+	 * {@code expected} (which is read from {@code expectedOffset} on) or -1 if there is none.
+	 */
+	private static long firstMismatch(ByteBuffer expected, int expectedOffset, ByteBuffer actual, int from, int to) {
+		// absolute reads don't change the buffers' state, so chunks can be compared concurrently
+		int index = from;
+		while (index + Long.BYTES <= to && expected.getLong(expectedOffset + index) == actual.getLong(index))
+			index += Long.BYTES;
+		for (; index < to; index++)
+			if (expected.get(expectedOffset + index) != actual.get(index))
+				return index;
+		return -1;
+	}
+
+	private static AssertionFailedError mismatchError(Path goldenFile, ByteBuffer expected, byte[] actual,
+			int mismatch) {
+		// up to the mismatch, both are equal, so the line number and line start are the same
+		int lineNumber = 1;
+		int lineStart = 0;
+		for (int index = 0; index < mismatch; index++)
+			if (actual[index] == '\n') {
+				lineNumber++;
+				lineStart = index + 1;
+			}
+		return mismatchError(goldenFile, lineNumber, lineAt(expected, lineStart),
+			lineAt(ByteBuffer.wrap(actual), lineStart));
+	}
+
+	private static AssertionFailedError mismatchError(Path goldenFile, int lineNumber, String expectedLine,
+			String actualLine) {
+		return new AssertionFailedError(
+			format("Output differs from golden file `%s` in line %d:%n\texpected: %s%n\tbut was:  %s", goldenFile,
+				lineNumber, expectedLine, actualLine));
+	}
+
+	private static String lineAt(ByteBuffer bytes, int lineStart) {
+		if (lineStart >= bytes.limit())
+			return END_OF_OUTPUT;
+		int lineEnd = lineStart;
+		while (lineEnd < bytes.limit() && bytes.get(lineEnd) != '\n')
+			lineEnd++;
+		if (lineEnd > lineStart && bytes.get(lineEnd - 1) == '\r')
+			lineEnd--;
+		byte[] line = new byte[lineEnd - lineStart];
+		for (int index = 0; index < line.length; index++)
+			line[index] = bytes.get(lineStart + index);
+		return new String(line, Charset.defaultCharset());
+	}
+
+}
@@ -15,6 +15,8 @@ import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.REP
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 
 /**
  * This class implements the functionality for the {@code @Issue} annotation.
@@ -25,10 +27,12 @@ class IssueExtension implements BeforeEachCallback {
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		PioneerAnnotationUtils.findClosestEnclosingAnnotation(context, Issue.class).ifPresent(annotation -> {
-			String issueId = annotation.value();
-			context.publishReportEntry(REPORT_ENTRY_KEY, issueId);
-		});
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			PioneerAnnotationUtils.findClosestEnclosingAnnotation(context, Issue.class).ifPresent(annotation -> {
+				String issueId = annotation.value();
+				context.publishReportEntry(REPORT_ENTRY_KEY, issueId);
+			});
+		}
 	}
 
 }
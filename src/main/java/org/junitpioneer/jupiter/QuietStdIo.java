@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.Resources;
+
+/**
+ * {@code @QuietStdIo} is a JUnit Jupiter extension that buffers everything a test writes to
+ * {@code System.out} and {@code System.err} and only writes it to the original streams if the
+ * test failed or was aborted - the output of successful tests is discarded.
+ *
+ * <p>{@code QuietStdIo} can be used on the method and on the class level. If a class is annotated,
+ * the output of each test in the class is buffered.</p>
+ *
+ * <p>During
+ * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
+ * all tests annotated with {@link QuietStdIo}, {@link StdIo}, {@link ReadsStdIo}, and {@link WritesStdIo}
+ * are scheduled in a way that guarantees correctness under mutation of shared global state.
+ * </p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/standard-input-output/" target="_top">the documentation on <code>Standard input/output</code></a>.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Inherited
+@WritesStdIo
+@ResourceLock(value = Resources.SYSTEM_ERR, mode = ResourceAccessMode.READ_WRITE)
+@ExtendWith(QuietStdIoExtension.class)
+public @interface QuietStdIo {
+}
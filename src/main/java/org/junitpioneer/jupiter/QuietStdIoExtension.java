@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
+
+class QuietStdIoExtension implements BeforeEachCallback, AfterEachCallback {
+
+	private static final Namespace NAMESPACE = Namespace.create(QuietStdIoExtension.class);
+
+	private static final String SYSTEM_OUT_KEY = "QuietStdIo_System_Out";
+	private static final String SYSTEM_ERR_KEY = "QuietStdIo_System_Err";
+	private static final String BUFFERED_OUT_KEY = "QuietStdIo_Buffered_Out";
+	private static final String BUFFERED_ERR_KEY = "QuietStdIo_Buffered_Err";
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			bufferStdOutAndErr(context);
+		}
+	}
+
+	private void bufferStdOutAndErr(ExtensionContext context) {
+		Store store = context.getStore(NAMESPACE);
+		ByteArrayOutputStream bufferedOut = new ByteArrayOutputStream();
+		ByteArrayOutputStream bufferedErr = new ByteArrayOutputStream();
+		store.put(BUFFERED_OUT_KEY, bufferedOut);
+		store.put(BUFFERED_ERR_KEY, bufferedErr);
+
+		store.put(SYSTEM_OUT_KEY, System.out); //NOSONAR never writing to System.out, only storing it
+		store.put(SYSTEM_ERR_KEY, System.err); //NOSONAR never writing to System.err, only storing it
+		System.setOut(new PrintStream(bufferedOut));
+		System.setErr(new PrintStream(bufferedErr));
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			resetStdOutAndErr(context);
+		}
+	}
+
+	private void resetStdOutAndErr(ExtensionContext context) {
+		// only reset those streams that were actually stored in "before"
+		Store store = context.getStore(NAMESPACE);
+		PrintStream storedSystemOut = store.remove(SYSTEM_OUT_KEY, PrintStream.class);
+		PrintStream storedSystemErr = store.remove(SYSTEM_ERR_KEY, PrintStream.class);
+		if (storedSystemOut != null)
+			System.setOut(storedSystemOut); //NOSONAR resetting output
+		if (storedSystemErr != null)
+			System.setErr(storedSystemErr); //NOSONAR resetting output
+
+		ByteArrayOutputStream bufferedOut = store.remove(BUFFERED_OUT_KEY, ByteArrayOutputStream.class);
+		ByteArrayOutputStream bufferedErr = store.remove(BUFFERED_ERR_KEY, ByteArrayOutputStream.class);
+		// `getExecutionException` contains failures as well as aborts (e.g. failed assumptions)
+		boolean testSucceeded = !context.getExecutionException().isPresent();
+		if (testSucceeded)
+			return;
+
+		replay(bufferedOut, storedSystemOut);
+		replay(bufferedErr, storedSystemErr);
+	}
+
+	private static void replay(ByteArrayOutputStream buffer, PrintStream target) {
+		if (buffer == null || target == null)
+			return;
+		try {
+			buffer.writeTo(target);
+			target.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not replay buffered output", ex);
+		}
+	}
+
+}
@@ -31,6 +31,8 @@ import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
 import org.junit.jupiter.api.extension.TestWatcher;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 import org.junitpioneer.internal.PioneerUtils;
 
 class ReportEntryExtension implements TestWatcher, BeforeEachCallback, InvocationInterceptor {
@@ -42,7 +44,9 @@ class ReportEntryExtension implements TestWatcher, BeforeEachCallback, Invocatio
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		findAnnotations(context).forEach(entry -> verifyReportEntry(context, entry));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			findAnnotations(context).forEach(entry -> verifyReportEntry(context, entry));
+		}
 	}
 
 	private Stream<ReportEntry> findAnnotations(ExtensionContext context) {
@@ -116,9 +120,12 @@ class ReportEntryExtension implements TestWatcher, BeforeEachCallback, Invocatio
 	}
 
 	private void publishOnConditions(ExtensionContext context, ReportEntry.PublishCondition... conditions) {
-		findAnnotations(context)
-				.filter(entry -> Arrays.asList(conditions).contains(entry.when()))
-				.forEach(entry -> context.publishReportEntry(entry.key(), parseVariables(entry.value(), context)));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "publishOnConditions")) {
+			findAnnotations(context)
+					.filter(entry -> Arrays.asList(conditions).contains(entry.when()))
+					.forEach(
+						entry -> context.publishReportEntry(entry.key(), parseVariables(entry.value(), context)));
+		}
 	}
 
 	private String parseVariables(String value, ExtensionContext context) {
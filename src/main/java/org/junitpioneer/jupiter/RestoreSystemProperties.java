@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * {@code @RestoreSystemProperties} is a JUnit Jupiter extension to restore all system
+ * properties after a test execution.
+ *
+ * <p>Before the annotated element is executed, a snapshot of the current system properties
+ * is taken. The {@link java.util.Properties} instance itself stays installed. Afterwards, all
+ * changes made in the meantime are reverted against the snapshot - whether by
+ * {@link ClearSystemProperty}, {@link SetSystemProperty}, or the tested code itself: added
+ * properties are removed and changed or removed ones are put back. If the tested code
+ * replaced the instance with {@link System#setProperties(java.util.Properties)}, the original
+ * instance is reinstated first and then restored the same way. Unlike the other two
+ * annotations, this doesn't require listing the properties that need to be restored.</p>
+ *
+ * <p>{@code RestoreSystemProperties} can be used on the method and on the class level.
+ * If a class is annotated, the system properties are restored after all tests in the
+ * class as well as after each individual test.</p>
+ *
+ * <p>During
+ * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
+ * all tests annotated with {@link ClearSystemProperty}, {@link SetSystemProperty}, {@link RestoreSystemProperties},
+ * {@link ReadsSystemProperty}, and {@link WritesSystemProperty} are scheduled in a way that guarantees
+ * correctness under mutation of shared global state.
+ * </p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/system-properties/" target="_top">the documentation on <code>@ClearSystemProperty and @SetSystemProperty</code></a>.
+ * </p>
+ *
+ * @since 1.5.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Inherited
+@WritesSystemProperty
+@ExtendWith(SystemPropertyExtension.class)
+public @interface RestoreSystemProperties {
+}
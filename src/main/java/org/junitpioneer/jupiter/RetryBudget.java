@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+/**
+ * Limits the retries of all {@link RetryingTest @RetryingTest} methods in a test plan execution,
+ * so a run where (almost) every test fails, e.g. because some infrastructure is down, fails fast
+ * instead of retrying each test up to its {@code maxAttempts}.
+ *
+ * <p>Each execution beyond a test's {@code minSuccess} requires a permit. The budget can limit
+ * the number of permits and the time (measured from when the first permit was handed out)
+ * during which permits are handed out. By default, it is unlimited.</p>
+ */
+class RetryBudget {
+
+	static final String ATTEMPTS_PROPERTY_NAME = "junitpioneer.retrying-test.budget.attempts";
+	static final String DURATION_PROPERTY_NAME = "junitpioneer.retrying-test.budget.duration";
+
+	private static final Namespace NAMESPACE = Namespace.create(RetryBudget.class);
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	// negative if unlimited
+	private final AtomicInteger remainingAttempts;
+	// `Long.MAX_VALUE` if unlimited
+	private final long durationNanos;
+	private final AtomicLong startNanos = new AtomicLong(NOT_STARTED);
+
+	private RetryBudget(int attempts, long durationNanos) {
+		this.remainingAttempts = new AtomicInteger(attempts);
+		this.durationNanos = durationNanos;
+	}
+
+	/**
+	 * Returns the budget that is shared by all tests of the test plan execution the context belongs to.
+	 */
+	static RetryBudget of(ExtensionContext context) {
+		return context
+				.getRoot()
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(RetryBudget.class, __ -> create(context), RetryBudget.class);
+	}
+
+	private static RetryBudget create(ExtensionContext context) {
+		int attempts = parseAttempts(context.getConfigurationParameter(ATTEMPTS_PROPERTY_NAME).map(String::trim));
+		long durationNanos = parseDuration(
+			context.getConfigurationParameter(DURATION_PROPERTY_NAME).map(String::trim));
+		return new RetryBudget(attempts, durationNanos);
+	}
+
+	private static int parseAttempts(Optional<String> attempts) {
+		if (!attempts.isPresent())
+			return -1;
+		try {
+			int parsed = Integer.parseInt(attempts.get());
+			if (parsed >= 0)
+				return parsed;
+		}
+		catch (NumberFormatException ex) {
+			// fall through to the exception below
+		}
+		throw new ExtensionConfigurationException(
+			format("Configuration parameter %s must be a non-negative integer but was `%s`.", ATTEMPTS_PROPERTY_NAME,
+				attempts.get()));
+	}
+
+	private static long parseDuration(Optional<String> duration) {
+		if (!duration.isPresent())
+			return Long.MAX_VALUE;
+		try {
+			Duration parsed = Duration.parse(duration.get());
+			if (!parsed.isNegative())
+				return parsed.toNanos();
+		}
+		catch (DateTimeParseException | ArithmeticException ex) {
+			// fall through to the exception below
+		}
+		throw new ExtensionConfigurationException(
+			format("Configuration parameter %s must be a non-negative ISO-8601 duration (e.g. `PT5M`) but was `%s`.",
+				DURATION_PROPERTY_NAME, duration.get()));
+	}
+
+	/**
+	 * Takes a permit for another execution from the budget if there is one left.
+	 */
+	boolean tryAcquire() {
+		if (timeIsUp())
+			return false;
+		if (remainingAttempts.get() < 0)
+			return true;
+		int remaining;
+		do {
+			remaining = remainingAttempts.get();
+			if (remaining == 0)
+				return false;
+		} while (!remainingAttempts.compareAndSet(remaining, remaining - 1));
+		return true;
+	}
+
+	/**
+	 * Checks whether there's a permit left without taking it.
+	 */
+	boolean hasPermit() {
+		long start = startNanos.get();
+		// the time only starts running once the first permit is taken
+		boolean timeIsUp = start != NOT_STARTED && System.nanoTime() - start >= durationNanos;
+		return !timeIsUp && remainingAttempts.get() != 0;
+	}
+
+	private boolean timeIsUp() {
+		if (durationNanos == Long.MAX_VALUE)
+			return false;
+		long now = System.nanoTime();
+		startNanos.compareAndSet(NOT_STARTED, now);
+		return now - startNanos.get() >= durationNanos;
+	}
+
+	/**
+	 * Returns a permit that wasn't used (e.g. because the execution it was taken for was skipped).
+	 */
+	void release() {
+		if (remainingAttempts.get() >= 0)
+			remainingAttempts.incrementAndGet();
+	}
+
+}
@@ -48,9 +48,20 @@ import org.junit.jupiter.api.parallel.Execution;
  *         {@code org.junit.jupiter.params.ParameterizedTest @ParameterizedTest}</li>
  *     <li>it can't be used with {@code org.junit.jupiter.api.DynamicTest @DynamicTest}</li>
  *     <li>all retries are run sequentially, even when used with
- *         <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution">parallel test execution</a></li>
+ *         <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution">parallel test execution</a>,
+ *         unless {@link #maxConcurrentAttempts()} is used</li>
  * </ul>
  *
+ * <p>If the configuration parameter {@code junitpioneer.retrying-test.statistics.file} is set,
+ * the outcomes of all retrying tests are recorded in that file and used to adapt
+ * {@link #maxAttempts()} in later runs: tests that failed repeatedly aren't retried
+ * and tests that are stable are retried at most once. Tests that only passed after
+ * being retried are reported to {@link FlakyTestProcessor}s.</p>
+ *
+ * <p>The configuration parameters {@code junitpioneer.retrying-test.budget.attempts} and
+ * {@code junitpioneer.retrying-test.budget.duration} limit the retries of all retrying tests
+ * in a run, so a run where most tests fail (e.g. because some infrastructure is down) fails fast.</p>
+ *
  * <p>During
  * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
  * all repetitions of a {@code @RepeatFailedTest} are executed sequentially to guarantee thread-safety.
@@ -64,8 +75,8 @@ import org.junit.jupiter.api.parallel.Execution;
  */
 @Target({ METHOD, ANNOTATION_TYPE })
 @Retention(RetentionPolicy.RUNTIME)
-// the extension is inherently thread-unsafe (has to wait for one execution before starting the next),
-// so it forces execution of all retries onto the same thread
+// by default, retries wait for the previous execution to finish, so all of them are forced onto the same
+// thread; for concurrent retries, `@Execution(CONCURRENT)` on the method overrides this meta-annotation
 @Execution(SAME_THREAD)
 @ExtendWith(RetryingTestExtension.class)
 @TestTemplate
@@ -96,4 +107,41 @@ public @interface RetryingTest {
 	 */
 	int minSuccess() default 1;
 
+	/**
+	 * Specifies how many executions of the test may run at the same time.
+	 *
+	 * If this is greater than 1 and the test method is executed concurrently
+	 * (i.e. parallel execution is enabled and the method is annotated with
+	 * {@code @Execution(CONCURRENT)}), up to this number of executions run at the
+	 * same time on separate test instances. Once the test's outcome is decided,
+	 * executions that didn't start yet are skipped.
+	 *
+	 * Value must be greater than or equal to 1.
+	 *
+	 * @since 1.5.0
+	 */
+	int maxConcurrentAttempts() default 1;
+
+	/**
+	 * Specifies the exceptions on which the test is retried.
+	 *
+	 * If the test fails with an exception that is not an instance of one of these types,
+	 * it is not retried and fails right away. If no types are given (the default),
+	 * the test is retried on all exceptions (except those excluded by {@link #notOn()}).
+	 *
+	 * @since 1.5.0
+	 */
+	Class<? extends Throwable>[] onExceptions() default {};
+
+	/**
+	 * Specifies the exceptions on which the test is not retried.
+	 *
+	 * If the test fails with an exception that is an instance of one of these types,
+	 * it is not retried and fails right away - even if the type is also covered by
+	 * {@link #onExceptions()}.
+	 *
+	 * @since 1.5.0
+	 */
+	Class<? extends Throwable>[] notOn() default {};
+
 }
@@ -16,21 +16,36 @@ import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.StreamSupport.stream;
 
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
 import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.jupiter.api.extension.TestWatcher;
 import org.junit.platform.commons.support.AnnotationSupport;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
+import org.junitpioneer.internal.RetryStatistics;
+import org.junitpioneer.internal.RetryStatistics.Outcome;
 import org.opentest4j.AssertionFailedError;
 import org.opentest4j.TestAbortedException;
 
-public class RetryingTestExtension implements TestTemplateInvocationContextProvider, TestExecutionExceptionHandler {
+public class RetryingTestExtension
+		implements TestTemplateInvocationContextProvider, TestExecutionExceptionHandler, TestWatcher {
 
 	private static final Namespace NAMESPACE = Namespace.create(RetryingTestExtension.class);
 
@@ -43,45 +58,118 @@ public class RetryingTestExtension implements TestTemplateInvocationContextProvi
 
 	@Override
 	public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
-		FailedTestRetrier retrier = retrierFor(context);
-		return stream(spliteratorUnknownSize(retrier, ORDERED), false);
+		try (Measurement measurement = PioneerProfiler
+				.measure(context, getClass(), "provideTestTemplateInvocationContexts")) {
+			FailedTestRetrier retrier = retrierFor(context);
+			return stream(spliteratorUnknownSize(retrier, ORDERED), false);
+		}
 	}
 
 	@Override
 	public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "handleTestExecutionException")) {
+			retryOrFail(context, throwable);
+		}
+	}
+
+	private static void retryOrFail(ExtensionContext context, Throwable throwable) {
+		retrierFor(templateContext(context)).failed(context.getUniqueId(), throwable);
+	}
+
+	// the test watcher is called once per execution, regardless of its outcome (even if, for example,
+	// a `@BeforeEach` method threw an exception), and only after all after-each callbacks ran, so it's
+	// used to keep track of finished executions
+
+	@Override
+	public void testSuccessful(ExtensionContext context) {
+		finished(context, false);
+	}
+
+	@Override
+	public void testAborted(ExtensionContext context, Throwable cause) {
+		finished(context, false);
+	}
+
+	@Override
+	public void testFailed(ExtensionContext context, Throwable cause) {
+		finished(context, true);
+	}
+
+	@Override
+	public void testDisabled(ExtensionContext context, Optional<String> reason) {
+		retrierFor(templateContext(context)).skipped();
+	}
+
+	private static void finished(ExtensionContext context, boolean failed) {
+		retrierFor(templateContext(context)).finished(context.getUniqueId(), failed);
+	}
+
+	private static ExtensionContext templateContext(ExtensionContext context) {
 		// this `context` (M) is a child of the context passed to `provideTestTemplateInvocationContexts` (T),
 		// which means M's store content is invisible to T's store; this can be fixed by using T's store here
-		ExtensionContext templateContext = context
+		return context
 				.getParent()
 				.orElseThrow(() -> new IllegalStateException(
 					"Extension context \"" + context + "\" should have a parent context."));
-		retrierFor(templateContext).failed(throwable);
 	}
 
 	private static FailedTestRetrier retrierFor(ExtensionContext context) {
 		Method test = context.getRequiredTestMethod();
 		return context
 				.getStore(NAMESPACE)
-				.getOrComputeIfAbsent(test.toString(), __ -> FailedTestRetrier.createFor(test),
+				.getOrComputeIfAbsent(test.toString(), __ -> FailedTestRetrier.createFor(test, context),
 					FailedTestRetrier.class);
 	}
 
+	/**
+	 * Hands out executions as long as the test's outcome is undecided. If executions run
+	 * concurrently, at most {@link RetryingTest#maxConcurrentAttempts()} run at the same time
+	 * and executions that didn't start before the outcome was decided are skipped.
+	 */
 	private static class FailedTestRetrier implements Iterator<RetryingTestInvocationContext> {
 
 		private final int maxRetries;
 		private final int minSuccess;
+		private final int maxConcurrentAttempts;
+		private final Class<? extends Throwable>[] onExceptions;
+		private final Class<? extends Throwable>[] notOn;
+		private final String testId;
+		private final Path statisticsFile;
+		private final RetryBudget retryBudget;
+
+		private final Set<String> failedExecutions = new HashSet<>();
 
 		private int retriesSoFar;
 		private int exceptionsSoFar;
+		private int successesSoFar;
+		private int skippedSoFar;
+		// executions that were handed out and didn't finish yet (including their after-each callbacks)
+		private int runningExecutions;
+		private boolean failureReported;
+		private boolean failedWithoutRetry;
+		private boolean outcomeRecorded;
+		// executions beyond `minSuccess` need a permit from the retry budget
+		private int retryPermits;
+		private boolean retryBudgetExhausted;
+		// executions that were handed out, but couldn't get their permit and are hence skipped
+		private int executionsWithoutPermit;
 
-		private FailedTestRetrier(int maxRetries, int minSuccess) {
+		private FailedTestRetrier(int maxRetries, int minSuccess, int maxConcurrentAttempts,
+				Class<? extends Throwable>[] onExceptions, Class<? extends Throwable>[] notOn, String testId,
+				Path statisticsFile, RetryBudget retryBudget) {
 			this.maxRetries = maxRetries;
 			this.minSuccess = minSuccess;
+			this.maxConcurrentAttempts = maxConcurrentAttempts;
+			this.onExceptions = onExceptions;
+			this.notOn = notOn;
+			this.testId = testId;
+			this.statisticsFile = statisticsFile;
+			this.retryBudget = retryBudget;
 			this.retriesSoFar = 0;
 			this.exceptionsSoFar = 0;
 		}
 
-		static FailedTestRetrier createFor(Method test) {
+		static FailedTestRetrier createFor(Method test, ExtensionContext context) {
 			RetryingTest retryingTest = AnnotationSupport
 					.findAnnotation(test, RetryingTest.class)
 					.orElseThrow(() -> new IllegalStateException("@RetryingTest is missing."));
@@ -106,46 +194,233 @@ public class RetryingTestExtension implements TestTemplateInvocationContextProvi
 					format("@RetryingTest requires that `maxAttempts` be greater than %s.%s",
 						minSuccess == 1 ? "1" : "`minSuccess`", additionalMessage));
 			}
+			if (retryingTest.maxConcurrentAttempts() < 1)
+				throw new IllegalStateException(
+					"@RetryingTest requires that `maxConcurrentAttempts` be greater than or equal to 1.");
 
-			return new FailedTestRetrier(maxAttempts, minSuccess);
+			Path statisticsFile = context
+					.getConfigurationParameter(RetryStatistics.FILE_PROPERTY_NAME)
+					.map(Paths::get)
+					.orElse(null);
+			if (statisticsFile != null)
+				maxAttempts = loadStatistics(context, statisticsFile)
+						.history(context.getUniqueId())
+						.adaptMaxAttempts(maxAttempts, minSuccess);
+
+			return new FailedTestRetrier(maxAttempts, minSuccess, retryingTest.maxConcurrentAttempts(),
+				retryingTest.onExceptions(), retryingTest.notOn(), context.getUniqueId(), statisticsFile,
+				RetryBudget.of(context));
 		}
 
-		void failed(Throwable exception) {
+		private static RetryStatistics loadStatistics(ExtensionContext context, Path statisticsFile) {
+			// load the file only once per test plan execution
+			return context
+					.getRoot()
+					.getStore(NAMESPACE)
+					.getOrComputeIfAbsent(statisticsFile, RetryStatistics::load, RetryStatistics.class);
+		}
+
+		synchronized void failed(String executionId, Throwable exception) {
 			if (exception instanceof TestAbortedException)
 				throw new TestAbortedException("Test execution was skipped, possibly because of a failed assumption.",
 					exception);
 
 			exceptionsSoFar++;
+			failedExecutions.add(executionId);
+			boolean retryable = isRetryable(exception);
+			if (!retryable)
+				failedWithoutRetry = true;
+			// each failure requires one more execution (unless a concurrent execution already got a permit for it)
+			if (!isDecided() && exceptionsSoFar > retryPermits)
+				acquireRetryPermit();
+			notifyAll();
+			int finishedExecutions = exceptionsSoFar + successesSoFar;
 
-			if (hasNext())
-				throw new TestAbortedException(
-					format("Test execution #%d (of up to %d) failed ~> will retry...", retriesSoFar, maxRetries),
-					exception);
-			else
+			if (successesSoFar >= minSuccess)
+				throw new TestAbortedException(format(
+					"Test execution #%d (of up to %d) failed after the test already succeeded ~> ignoring failure",
+					finishedExecutions, maxRetries), exception);
+			if (!isDecided())
+				throw new TestAbortedException(format("Test execution #%d (of up to %d) failed ~> %s",
+					finishedExecutions, maxRetries,
+					retriesSoFar < maxRetries ? "will retry..." : "waiting for running executions..."), exception);
+			if (failureReported)
+				throw new TestAbortedException(format(
+					"Test execution #%d (of up to %d) failed after the test already failed ~> ignoring failure",
+					finishedExecutions, maxRetries), exception);
+
+			failureReported = true;
+			recordOutcome(Outcome.FAILED);
+			if (!retryable)
+				throw new AssertionFailedError(format(
+					"Test execution #%d (of up to %d) failed with %s, which is not retried ~> test fails - see cause for details",
+					finishedExecutions, maxRetries, exception.getClass().getName()), exception);
+			if (retryBudgetExhausted)
 				throw new AssertionFailedError(format(
-					"Test execution #%d (of up to %d with at least %d successes) failed ~> test fails - see cause for details",
-					retriesSoFar, maxRetries, minSuccess), exception);
+					"Test execution #%d (of up to %d) failed and the retry budget is exhausted ~> test fails - see cause for details",
+					finishedExecutions, maxRetries), exception);
+			throw new AssertionFailedError(format(
+				"Test execution #%d (of up to %d with at least %d successes) failed ~> test fails - see cause for details",
+				finishedExecutions, maxRetries, minSuccess), exception);
+		}
+
+		synchronized void finished(String executionId, boolean failed) {
+			runningExecutions--;
+			// failures of the test method were already counted by `failed`
+			if (failedExecutions.remove(executionId)) {
+				notifyAll();
+				return;
+			}
+
+			if (failed) {
+				// the execution failed outside of the test method (e.g. in a `@BeforeEach` method),
+				// which fails the test regardless of other executions, so it isn't retried
+				exceptionsSoFar++;
+				failedWithoutRetry = true;
+				failureReported = true;
+				recordOutcome(Outcome.FAILED);
+			} else {
+				// all other executions (including aborted ones) count as successful
+				successesSoFar++;
+				if (successesSoFar >= minSuccess)
+					recordOutcome(exceptionsSoFar == 0 ? Outcome.PASSED : Outcome.PASSED_AFTER_RETRIES);
+			}
+			notifyAll();
+		}
+
+		private void recordOutcome(Outcome outcome) {
+			if (outcomeRecorded)
+				return;
+			outcomeRecorded = true;
+			RetryStatistics.record(statisticsFile, testId, outcome);
+		}
+
+		synchronized void skipped() {
+			skippedSoFar++;
+			runningExecutions--;
+			if (executionsWithoutPermit > 0) {
+				executionsWithoutPermit--;
+				notifyAll();
+				return;
+			}
+			// other executions are only skipped once the test is decided, so their permits can be returned
+			if (retryPermits > 0) {
+				retryPermits--;
+				retryBudget.release();
+			}
+			notifyAll();
+		}
+
+		private boolean acquireRetryPermit() {
+			if (!retryBudget.tryAcquire()) {
+				retryBudgetExhausted = true;
+				return false;
+			}
+			retryPermits++;
+			return true;
+		}
+
+		private static ConditionEvaluationResult skipWithoutPermit() {
+			return ConditionEvaluationResult
+					.disabled("Retry budget was exhausted before the execution could start ~> skipping execution");
+		}
+
+		private synchronized ConditionEvaluationResult skipIfDecided() {
+			if (isDecided())
+				return ConditionEvaluationResult
+						.disabled("Test outcome was decided by concurrent executions ~> skipping execution");
+			return ConditionEvaluationResult.enabled("Test outcome is not decided yet.");
+		}
+
+		private boolean isRetryable(Throwable exception) {
+			boolean retriedOn = onExceptions.length == 0
+					|| Arrays.stream(onExceptions).anyMatch(type -> type.isInstance(exception));
+			boolean notRetriedOn = Arrays.stream(notOn).anyMatch(type -> type.isInstance(exception));
+			return retriedOn && !notRetriedOn;
+		}
+
+		private boolean isDecided() {
+			boolean succeeded = successesSoFar >= minSuccess;
+			// without a retry budget, only the executions that already started can still succeed
+			boolean cannotSucceed = failedWithoutRetry || maxRetries - exceptionsSoFar < minSuccess
+					|| (retryBudgetExhausted && retriesSoFar - exceptionsSoFar - skippedSoFar < minSuccess);
+			return succeeded || cannotSucceed;
+		}
+
+		private synchronized boolean hasFreeSlot() {
+			return isDecided() || runningExecutions == 0
+					|| (runningExecutions < maxConcurrentAttempts && mayStartExecution());
+		}
+
+		// only checks whether there's a permit, so it can be called repeatedly (e.g. by the fork-join pool);
+		// `next()` takes the permit
+		private boolean mayStartExecution() {
+			if (!needsRetryPermit())
+				return true;
+			if (retriesSoFar >= maxRetries)
+				return false;
+			// executions that run concurrently with others are speculative and need a permit up front
+			// (when executions run sequentially, none is running by now and failures acquired the permits)
+			return runningExecutions > 0 && retryBudget.hasPermit();
+		}
+
+		private boolean needsRetryPermit() {
+			return retriesSoFar >= minSuccess + retryPermits;
 		}
 
 		@Override
 		public boolean hasNext() {
-			// there's always at least one execution
-			if (retriesSoFar == 0)
-				return true;
+			awaitFreeSlot();
+			synchronized (this) {
+				// there's always at least one execution
+				if (retriesSoFar == 0)
+					return true;
+				return !isDecided() && retriesSoFar < maxRetries && mayStartExecution();
+			}
+		}
+
+		private void awaitFreeSlot() {
+			// when executions run sequentially, the previous one is finished by now and this returns immediately;
+			// when they run concurrently, the thread waits in a way that allows a fork-join pool to compensate
+			try {
+				ForkJoinPool.managedBlock(new ManagedBlocker() {
 
-			int successfulExecutionCount = retriesSoFar - exceptionsSoFar;
-			int remainingExecutionCount = maxRetries - retriesSoFar;
-			int requiredSuccessCount = minSuccess - successfulExecutionCount;
+					@Override
+					public boolean block() throws InterruptedException {
+						synchronized (FailedTestRetrier.this) {
+							while (!hasFreeSlot())
+								FailedTestRetrier.this.wait();
+						}
+						return true;
+					}
 
-			return remainingExecutionCount >= requiredSuccessCount && requiredSuccessCount > 0;
+					@Override
+					public boolean isReleasable() {
+						return hasFreeSlot();
+					}
+
+				});
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
 		}
 
 		@Override
 		public RetryingTestInvocationContext next() {
 			if (!hasNext())
 				throw new NoSuchElementException();
-			retriesSoFar++;
-			return new RetryingTestInvocationContext();
+			synchronized (this) {
+				// other tests share the budget, so its last permit may be gone since `hasNext()` checked it
+				boolean withoutPermit = needsRetryPermit() && !acquireRetryPermit();
+				retriesSoFar++;
+				runningExecutions++;
+				if (withoutPermit) {
+					executionsWithoutPermit++;
+					return new RetryingTestInvocationContext(context -> skipWithoutPermit());
+				}
+			}
+			return new RetryingTestInvocationContext(context -> skipIfDecided());
 		}
 
 	}
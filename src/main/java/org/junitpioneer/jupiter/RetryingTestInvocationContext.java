@@ -10,8 +10,26 @@
 
 package org.junitpioneer.jupiter;
 
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.Extension;
 import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
 
 class RetryingTestInvocationContext implements TestTemplateInvocationContext {
 
+	// skips the execution if the test is already decided or the execution got no retry permit
+	private final ExecutionCondition skipCondition;
+
+	RetryingTestInvocationContext(ExecutionCondition skipCondition) {
+		this.skipCondition = skipCondition;
+	}
+
+	@Override
+	public List<Extension> getAdditionalExtensions() {
+		return singletonList(skipCondition);
+	}
+
 }
@@ -10,12 +10,19 @@
 
 package org.junitpioneer.jupiter;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
+ * Provides the input specified with {@link StdIo} to {@code System.in} and captures the bytes
+ * that were read. Input specified as lines is encoded with the default charset.
+ *
  * <p>For details and examples, see
  * <a href="https://junit-pioneer.org/docs/standard-input-output/" target="_top">the documentation on <code>Standard input/output</code></a>
  * </p>
@@ -24,32 +31,83 @@ import java.io.StringWriter;
  */
 public class StdIn extends InputStream {
 
-	private final StringReader reader;
-	private final StringWriter writer = new StringWriter();
+	private final InputStream source;
+	private final CapturedLines captured = new CapturedLines(-1);
 
 	public StdIn(String[] values) {
-		reader = new StringReader(String.join(StdIoExtension.SEPARATOR, values));
+		this(new ByteArrayInputStream(String.join(StdIoExtension.SEPARATOR, values).getBytes(Charset.defaultCharset())));
+	}
+
+	StdIn(InputStream source) {
+		this.source = source;
 	}
 
 	@Override
-	public int read() throws IOException {
-		int reading = reader.read();
+	public synchronized int read() throws IOException {
+		int reading = source.read();
 		if (reading != -1) {
-			writer.write(reading);
+			captured.append(new byte[] { (byte) reading }, 0, 1);
 		}
 		return reading;
 	}
 
 	@Override
-	public int read(byte[] b, int off, int len) throws IOException { // NOSONAR - this is fine for a simple testing extension
-		return super.read(b, off, len);
+	public synchronized int read(byte[] b, int off, int len) throws IOException {
+		int readings = source.read(b, off, len);
+		if (readings > 0) {
+			captured.append(b, off, readings);
+		}
+		return readings;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return source.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		source.close();
+		captured.close();
 	}
 
 	/**
 	 * @return the lines that were read from {@code System.in}; note that buffering readers may read all lines eagerly
 	 */
 	public String[] capturedLines() {
-		return writer.toString().split(StdIoExtension.SEPARATOR);
+		return captured.snapshot().toArray(new String[0]);
+	}
+
+	/**
+	 * @return the lines that were read from {@code System.in} (at the time of the call)
+	 * @since 1.5.0
+	 */
+	public Stream<String> lines() {
+		return captured.snapshot().stream();
+	}
+
+	/**
+	 * @return the last line that was read from {@code System.in} (even if it wasn't terminated)
+	 * 			or an empty string if there is none
+	 * @since 1.5.0
+	 */
+	public String lastLine() {
+		return captured.lastLine();
+	}
+
+	/**
+	 * Waits until a line that matches the specified predicate was read from {@code System.in}
+	 * (including lines read before this call) and returns it. Only lines that were terminated
+	 * with a line separator are checked.
+	 *
+	 * @param predicate the predicate the line must match
+	 * @param timeout how long to wait at most
+	 * @return the first matching line or an empty {@code Optional} if none was read before the timeout
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 * @since 1.5.0
+	 */
+	public Optional<String> awaitLine(Predicate<String> predicate, Duration timeout) throws InterruptedException {
+		return captured.awaitLine(predicate, timeout);
 	}
 
 }
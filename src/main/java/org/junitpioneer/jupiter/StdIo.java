@@ -18,12 +18,14 @@ import java.lang.annotation.Target;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 /**
- * Allows specifying the input that's read from {@code System.in} as well as capturing
+ * Allows specifying the input that's read from {@code System.in} (as lines, from a file,
+ * or from a class path resource) as well as capturing
  * lines read from {@code System.in} (with parameter {@link StdIn}) or
  * written to {@code System.out} (with parameter {@link StdOut StdOut}).
  *
  * The annotated test method can have zero, one, or both parameters, but {@code StdIn} can only
- * be provided if {@link StdIo#value()} is used to specify input - otherwise an
+ * be provided if {@link StdIo#value()}, {@link StdIo#file()}, or {@link StdIo#resource()} is used
+ * to specify input - otherwise an
  * {@link org.junit.jupiter.api.extension.ExtensionConfigurationException ExtensionConfigurationException}
  * will be thrown.
  *
@@ -52,4 +54,41 @@ public @interface StdIo {
 	 */
 	String[] value() default {};
 
+	/**
+	 * Provides the intercepted standard input with the content of the
+	 * file at this path (relative paths are resolved against the working directory).
+	 * If this is not blank, the annotated method can have a {@link StdIn} parameter.
+	 *
+	 * @since 1.5.0
+	 */
+	String file() default "";
+
+	/**
+	 * Provides the intercepted standard input with the content of the
+	 * class path resource with this name (resolved with the test class' class loader).
+	 * If this is not blank, the annotated method can have a {@link StdIn} parameter.
+	 *
+	 * @since 1.5.0
+	 */
+	String resource() default "";
+
+	/**
+	 * Limits how many characters written to {@code System.out} (including line separators)
+	 * are captured by {@link StdOut} - if the limit is exceeded, only the characters that
+	 * were written last are kept.
+	 * A value smaller than one (the default) means the captured output is not limited.
+	 *
+	 * @since 1.5.0
+	 */
+	int maxCapturedChars() default -1;
+
+	/**
+	 * Also forwards the output captured by {@link StdOut} to the original {@code System.out}.
+	 * To not slow down the code under test, that happens on a background thread and if the
+	 * original stream can't keep up, some output may not be forwarded (but is still captured).
+	 *
+	 * @since 1.5.0
+	 */
+	boolean tee() default false;
+
 }
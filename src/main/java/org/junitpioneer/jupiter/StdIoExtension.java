@@ -13,8 +13,16 @@ package org.junitpioneer.jupiter;
 import static java.lang.String.format;
 import static org.junitpioneer.internal.PioneerAnnotationUtils.findClosestEnclosingAnnotation;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
@@ -24,6 +32,8 @@ import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
 
 class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
 
@@ -34,6 +44,7 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 	private static final String SYSTEM_IN_KEY = "StdIo_System_In";
 	private static final String SYSTEM_OUT_KEY = "StdIo_System_Out";
 	private static final String STD_IN_KEY = "StdIo_Std_In";
+	private static final String STD_OUT_KEY = "StdIo_Std_Out";
 
 	@Override
 	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
@@ -43,12 +54,18 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 
 	@Override
 	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		try (Measurement measurement = PioneerProfiler.measure(extensionContext, getClass(), "resolveParameter")) {
+			return resolveStdIoParameter(parameterContext, extensionContext);
+		}
+	}
+
+	private Object resolveStdIoParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
 		Class<?> parameterType = parameterContext.getParameter().getType();
 		if (parameterType == StdOut.class)
 			return prepareStdOut(extensionContext);
 		if (parameterType == StdIn.class) {
-			String[] source = extensionContext.getRequiredTestMethod().getAnnotation(StdIo.class).value();
-			if (source.length == 0)
+			StdIo stdIo = extensionContext.getRequiredTestMethod().getAnnotation(StdIo.class);
+			if (!definesInput(stdIo))
 				throw new ExtensionConfigurationException(
 					"@StdIo defined no input, so System.in is still in place and no StdIn parameter can be provided. "
 							+ "If you want to define empty input, use `@StdIo(\"\")`.");
@@ -58,7 +75,7 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 						.getStore(NAMESPACE)
 						.getOrComputeIfAbsent(
 								STD_IN_KEY,
-								__ -> createSwapStoreStdIn(extensionContext, source),
+								__ -> createSwapStoreStdIn(extensionContext, stdIo),
 								StdIn.class);
 				//@formatter:on
 		}
@@ -66,51 +83,110 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 	}
 
 	private StdOut prepareStdOut(ExtensionContext context) {
+		StdIo stdIo = context.getRequiredTestMethod().getAnnotation(StdIo.class);
+		StdOut out = new StdOut(stdIo.maxCapturedChars(), stdIo.tee() ? System.out : null); //NOSONAR only forwarding to it
+		context.getStore(NAMESPACE).put(STD_OUT_KEY, out);
 		storeStdOut(context);
-		return createOut();
+		System.setOut(new PrintStream(out));
+		return out;
 	}
 
 	private void storeStdOut(ExtensionContext context) {
 		context.getStore(NAMESPACE).put(SYSTEM_OUT_KEY, System.out); //NOSONAR never writing to System.out, only storing it
 	}
 
-	private StdOut createOut() {
-		StdOut out = new StdOut();
-		System.setOut(new PrintStream(out));
-		return out;
+	private static boolean definesInput(StdIo stdIo) {
+		return stdIo.value().length > 0 || !stdIo.file().isEmpty() || !stdIo.resource().isEmpty();
 	}
 
-	private StdIn createSwapStoreStdIn(ExtensionContext context, String[] source) {
-		StdIn newStdIn = new StdIn(source);
+	private StdIn createSwapStoreStdIn(ExtensionContext context, StdIo stdIo) {
+		StdIn newStdIn = new StdIn(openInput(context, stdIo));
 		swapAndStoreIn(context, newStdIn);
 		return newStdIn;
 	}
 
+	private static InputStream openInput(ExtensionContext context, StdIo stdIo) {
+		boolean definesLines = stdIo.value().length > 0;
+		boolean definesFile = !stdIo.file().isEmpty();
+		boolean definesResource = !stdIo.resource().isEmpty();
+		if ((definesLines ? 1 : 0) + (definesFile ? 1 : 0) + (definesResource ? 1 : 0) > 1)
+			throw new ExtensionConfigurationException(
+				"@StdIo can only define input with one of `value`, `file`, or `resource`.");
+
+		if (definesFile)
+			return openFile(stdIo.file());
+		if (definesResource)
+			return openResource(context.getRequiredTestClass(), stdIo.resource());
+		return new ByteArrayInputStream(
+			String.join(SEPARATOR, stdIo.value()).getBytes(Charset.defaultCharset()));
+	}
+
+	private static InputStream openFile(String file) {
+		try {
+			// large files are streamed (and not read into memory), so buffer them for single-byte reads
+			return new BufferedInputStream(Files.newInputStream(Paths.get(file)));
+		}
+		catch (IOException | InvalidPathException ex) {
+			throw new ExtensionConfigurationException(format("Could not read input file `%s`.", file), ex);
+		}
+	}
+
+	private static InputStream openResource(Class<?> testClass, String resource) {
+		// like `ClassLoader::getResource`, expect no leading slash but be lenient
+		String resourceName = resource.startsWith("/") ? resource.substring(1) : resource;
+		InputStream input = testClass.getClassLoader().getResourceAsStream(resourceName);
+		if (input == null)
+			throw new ExtensionConfigurationException(format("Could not find input resource `%s`.", resource));
+		return new BufferedInputStream(input);
+	}
+
 	private void swapAndStoreIn(ExtensionContext context, StdIn stdIn) {
 		context.getStore(NAMESPACE).put(SYSTEM_IN_KEY, System.in); //NOSONAR never reading from System.in, only storing it
 		context.getStore(NAMESPACE).put(STD_IN_KEY, stdIn);
 		System.setIn(stdIn); //NOSONAR required to redirect output
 	}
 
+	private static void closeInput(StdIn stdIn) {
+		try {
+			stdIn.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not close input", ex);
+		}
+	}
+
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		String[] source = findClosestEnclosingAnnotation(context, StdIo.class)
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "beforeEach")) {
+			redirectStdIn(context);
+		}
+	}
+
+	private void redirectStdIn(ExtensionContext context) {
+		StdIo stdIo = findClosestEnclosingAnnotation(context, StdIo.class)
 				.orElseThrow(() -> new ExtensionConfigurationException(
-					format("StdIoExtension is active but no %s annotation was found.", StdIo.class.getName())))
-				.value();
+					format("StdIoExtension is active but no %s annotation was found.", StdIo.class.getName())));
 		boolean testMethodIsParameterless = context.getRequiredTestMethod().getParameterCount() == 0;
-		if (source.length == 0 && testMethodIsParameterless)
+		if (!definesInput(stdIo) && testMethodIsParameterless)
 			throw new ExtensionConfigurationException(
 				"StdIoExtension is active but neither System.out or System.in are getting redirected.");
 
 		boolean stdInStillInPlace = context.getStore(NAMESPACE).get(STD_IN_KEY) == null;
-		if (source.length > 0 && stdInStillInPlace)
-			createSwapStoreStdIn(context, source);
+		if (definesInput(stdIo) && stdInStillInPlace)
+			createSwapStoreStdIn(context, stdIo);
 	}
 
 	@Override
 	public void afterEach(ExtensionContext context) {
-		// only reset those streams that were actually stored in "before"
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "afterEach")) {
+			resetStdIo(context);
+		}
+	}
+
+	private void resetStdIo(ExtensionContext context) {
+		// only reset those streams that were actually stored in "before" - and do so before closing
+		// the captured streams, so a failure to close them (e.g. a broken tee target) can't leave
+		// System.in or System.out redirected
 
 		InputStream storedSystemIn = context.getStore(NAMESPACE).get(SYSTEM_IN_KEY, InputStream.class);
 		if (storedSystemIn != null)
@@ -118,7 +194,18 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 
 		PrintStream storedSystemOut = context.getStore(NAMESPACE).get(SYSTEM_OUT_KEY, PrintStream.class);
 		if (storedSystemOut != null)
-			System.setOut(storedSystemOut); //NOSONAR resetting input
+			System.setOut(storedSystemOut); //NOSONAR resetting output
+
+		StdIn stdIn = context.getStore(NAMESPACE).get(STD_IN_KEY, StdIn.class);
+		StdOut stdOut = context.getStore(NAMESPACE).get(STD_OUT_KEY, StdOut.class);
+		try {
+			if (stdIn != null)
+				closeInput(stdIn);
+		}
+		finally {
+			if (stdOut != null)
+				stdOut.close();
+		}
 	}
 
 }
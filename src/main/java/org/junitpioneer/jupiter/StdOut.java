@@ -11,10 +11,22 @@
 package org.junitpioneer.jupiter;
 
 import java.io.OutputStream;
-import java.io.StringWriter;
-import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
+ * Captures the bytes written to {@code System.out}, decodes them (with the default charset)
+ * as they arrive, and keeps track of the lines they form.
+ *
+ * <p>If {@link StdIo#maxCapturedChars()} is set, only the characters that were written last
+ * are kept - at most as many as the limit.</p>
+ *
+ * <p>If {@link StdIo#tee()} is set, the output is also forwarded to the original {@code System.out}
+ * on a background thread.</p>
+ *
  * <p>For details and examples, see
  * <a href="https://junit-pioneer.org/docs/standard-input-output/" target="_top">the documentation on <code>Standard input/output</code></a>
  * </p>
@@ -23,23 +35,95 @@ import java.nio.charset.Charset;
  */
 public class StdOut extends OutputStream {
 
-	private final StringWriter writer = new StringWriter();
+	private final CapturedLines lines;
+	private final AsyncForwarder forwarder;
+
+	public StdOut() {
+		this(-1, null);
+	}
+
+	/**
+	 * @param maxCapturedChars the maximum number of characters to keep (the last ones written);
+	 * 			a value smaller than one means the output is not limited
+	 * @param teeTarget the stream to forward the output to (on a background thread) -
+	 * 			{@code null} if it shouldn't be forwarded
+	 */
+	StdOut(int maxCapturedChars, OutputStream teeTarget) {
+		this.lines = new CapturedLines(maxCapturedChars);
+		this.forwarder = teeTarget == null ? null : new AsyncForwarder(teeTarget);
+	}
 
 	@Override
 	public void write(int i) {
-		writer.write(i);
+		write(new byte[] { (byte) i }, 0, 1);
 	}
 
 	@Override
 	public final void write(byte[] b, int off, int len) {
-		writer.write(new String(b, Charset.defaultCharset()), off, len);
+		if ((off | len | (off + len) | (b.length - (off + len))) < 0)
+			throw new IndexOutOfBoundsException();
+		lines.append(b, off, len);
+		if (forwarder != null)
+			forwarder.forward(b, off, len);
+	}
+
+	/**
+	 * Decodes the bytes of a character that may have been cut off at the end of the output and stops
+	 * forwarding output (if {@link StdIo#tee()} is set) after all pending output was forwarded.
+	 * Output written after that is still captured.
+	 */
+	@Override
+	public void close() {
+		lines.close();
+		if (forwarder != null)
+			forwarder.close();
 	}
 
 	/**
 	 * @return the lines that were written to {@code System.out}
 	 */
 	public String[] capturedLines() {
-		return writer.toString().split(StdIoExtension.SEPARATOR);
+		return lines.snapshot().toArray(new String[0]);
+	}
+
+	/**
+	 * @return the lines that were written to {@code System.out} - each but the last one was followed
+	 * 			by a line separator, the last one is the line that is still being written (which may be empty)
+	 */
+	List<String> splitCapturedText() {
+		return lines.splitCapturedText();
+	}
+
+	/**
+	 * @return the lines that were written to {@code System.out} (at the time of the call)
+	 * @since 1.5.0
+	 */
+	public Stream<String> lines() {
+		return lines.snapshot().stream();
+	}
+
+	/**
+	 * @return the last line that was written to {@code System.out} (even if it wasn't terminated yet)
+	 * 			or an empty string if there is none
+	 * @since 1.5.0
+	 */
+	public String lastLine() {
+		return lines.lastLine();
+	}
+
+	/**
+	 * Waits until a line that matches the specified predicate was written to {@code System.out}
+	 * (including lines written before this call) and returns it. Only lines that were terminated
+	 * with a line separator are checked.
+	 *
+	 * @param predicate the predicate the line must match
+	 * @param timeout how long to wait at most
+	 * @return the first matching line or an empty {@code Optional} if none was written before the timeout
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 * @since 1.5.0
+	 */
+	public Optional<String> awaitLine(Predicate<String> predicate, Duration timeout) throws InterruptedException {
+		return lines.awaitLine(predicate, timeout);
 	}
 
 }
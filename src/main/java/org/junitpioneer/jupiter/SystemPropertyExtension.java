@@ -10,11 +10,86 @@
 
 package org.junitpioneer.jupiter;
 
+import java.util.Properties;
 import java.util.function.Function;
 
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junitpioneer.internal.PioneerAnnotationUtils;
+
 class SystemPropertyExtension
 		extends AbstractEntryBasedExtension<String, String, ClearSystemProperty, SetSystemProperty> {
 
+	private static final Namespace NAMESPACE = Namespace.create(SystemPropertyExtension.class);
+	private static final String PROPERTIES_BACKUP_KEY = "RestoreSystemProperties_Backup";
+
+	@Override
+	public void beforeAll(ExtensionContext context) {
+		// `beforeAll` is called for the class, so only look for the annotation there
+		if (AnnotationSupport.isAnnotated(context.getElement(), RestoreSystemProperties.class))
+			backUpProperties(context);
+		super.beforeAll(context);
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		if (PioneerAnnotationUtils.isAnyAnnotationPresent(context, RestoreSystemProperties.class))
+			backUpProperties(context);
+		super.beforeEach(context);
+	}
+
+	private static void backUpProperties(ExtensionContext context) {
+		context.getStore(NAMESPACE).put(PROPERTIES_BACKUP_KEY, new PropertiesBackup(System.getProperties()));
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) throws Exception {
+		super.afterEach(context);
+		restoreOriginalProperties(context);
+	}
+
+	@Override
+	public void afterAll(ExtensionContext context) throws Exception {
+		super.afterAll(context);
+		restoreOriginalProperties(context);
+	}
+
+	private static void restoreOriginalProperties(ExtensionContext context) {
+		// the backup is only stored if the extension was configured to restore the properties
+		PropertiesBackup backup = context.getStore(NAMESPACE).remove(PROPERTIES_BACKUP_KEY, PropertiesBackup.class);
+		if (backup != null)
+			backup.restore();
+	}
+
+	/**
+	 * Restores the system properties by only undoing the changes, so the original {@code Properties}
+	 * instance stays in place for code that holds on to it.
+	 */
+	private static class PropertiesBackup {
+
+		private final Properties original;
+		private final Properties entries;
+
+		PropertiesBackup(Properties original) {
+			this.original = original;
+			// unlike copying the entries, cloning locks the instance
+			this.entries = (Properties) original.clone();
+		}
+
+		void restore() {
+			// the tested code may have replaced the instance
+			if (System.getProperties() != original)
+				System.setProperties(original);
+			original.keySet().removeIf(key -> !entries.containsKey(key));
+			entries.forEach((key, value) -> {
+				if (!value.equals(original.get(key)))
+					original.put(key, value);
+			});
+		}
+
+	}
+
 	@Override
 	protected Function<ClearSystemProperty, String> clearKeyMapper() {
 		return ClearSystemProperty::key;
@@ -3,6 +3,7 @@
  *
  * <p>Check out the following types for details:
  * <ul>
+ *     <li>{@link org.junitpioneer.jupiter.CaptureLogs}</li>
  *     <li>{@link org.junitpioneer.jupiter.CartesianProductTest}</li>
  *     <li>{@link org.junitpioneer.jupiter.ClearSystemProperty} and {@link org.junitpioneer.jupiter.SetSystemProperty}</li>
  *     <li>{@link org.junitpioneer.jupiter.ClearEnvironmentVariable} and {@link org.junitpioneer.jupiter.SetEnvironmentVariable}</li>
@@ -10,6 +11,7 @@
  *     <li>{@link org.junitpioneer.jupiter.ReportEntry}</li>
  *     <li>{@link org.junitpioneer.jupiter.RetryingTest}</li>
  *     <li>{@link org.junitpioneer.jupiter.StdIoExtension} and {@link org.junitpioneer.jupiter.StdIo}</li>
+ *     <li>{@link org.junitpioneer.jupiter.QuietStdIo}</li>
  *     <li>{@link org.junitpioneer.jupiter.Stopwatch}</li>
  * </ul>
  *
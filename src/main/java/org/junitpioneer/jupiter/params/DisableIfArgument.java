@@ -30,8 +30,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * With {@code DisableIfArgument}, it is possible to selectively disable tests out of the plethora
  * of dynamically registered parameterized tests.</p>
  *
- * <p>The extension requires that exactly one of {@link DisableIfArgument#contains() contains} or
- * {@link DisableIfArgument#matches() matches} is configured.</p>
+ * <p>The extension requires that exactly one condition is configured. Besides
+ * {@link DisableIfArgument#contains() contains} and {@link DisableIfArgument#matches() matches},
+ * which operate on the argument's {@code toString()} representation, there are typed conditions
+ * ({@link DisableIfArgument#lessThan() lessThan}, {@link DisableIfArgument#greaterThan() greaterThan},
+ * {@link DisableIfArgument#in() in}, {@link DisableIfArgument#isNull() isNull},
+ * {@link DisableIfArgument#instanceOf() instanceOf}, {@link DisableIfArgument#enumNames() enumNames},
+ * and {@link DisableIfArgument#predicate() predicate}) that are evaluated on the argument itself,
+ * which avoids the cost of converting it to a string.</p>
  *
  * <p>This annotation is for disabling a test based on a single argument which can be designated with an
  * implicit index, an explicit index or by name (if parameter name information is present). For more
@@ -73,6 +79,49 @@ public @interface DisableIfArgument {
 	 */
 	String[] matches() default {};
 
+	/**
+	 * Disable test cases whose argument is a {@link Number} that is less than the specified value.
+	 */
+	double lessThan() default Double.NaN;
+
+	/**
+	 * Disable test cases whose argument is a {@link Number} that is greater than the specified value.
+	 */
+	double greaterThan() default Double.NaN;
+
+	/**
+	 * Disable test cases whose argument is a {@link Number} that is equal to any of the specified values.
+	 * Integral arguments (like {@code int} or {@code long}) only equal integral values and {@code float}
+	 * arguments are compared to the specified values as {@code float}s.
+	 */
+	double[] in() default {};
+
+	/**
+	 * Disable test cases whose argument is {@code null}.
+	 */
+	boolean isNull() default false;
+
+	/**
+	 * Disable test cases whose argument is an instance of any of the specified types.
+	 */
+	Class<?>[] instanceOf() default {};
+
+	/**
+	 * Disable test cases whose argument is an enum constant with any of the specified names
+	 * (according to {@link Enum#name()}).
+	 */
+	String[] enumNames() default {};
+
+	/**
+	 * Disable test cases whose argument fulfills the specified predicate - a static method
+	 * with a single parameter that returns {@code boolean}.
+	 *
+	 * <p>The method can be given by name if it is declared in the test class (or an enclosing class)
+	 * or as a fully qualified reference, e.g. {@code "com.example.Predicates#isEmpty"}. Arguments that
+	 * can't be assigned to the method's parameter type do not fulfill the predicate.</p>
+	 */
+	String predicate() default "";
+
 	@Target(ElementType.METHOD)
 	@Retention(RetentionPolicy.RUNTIME)
 	@interface DisableIfArguments {
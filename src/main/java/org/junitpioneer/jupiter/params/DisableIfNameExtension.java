@@ -14,17 +14,25 @@ import static java.lang.String.format;
 import static org.junit.jupiter.api.extension.ConditionEvaluationResult.disabled;
 import static org.junit.jupiter.api.extension.ConditionEvaluationResult.enabled;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.extension.ConditionEvaluationResult;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.PioneerProfiler;
+import org.junitpioneer.internal.PioneerProfiler.Measurement;
+import org.junitpioneer.internal.SubstringMatcher;
 
 public class DisableIfNameExtension implements ExecutionCondition {
 
+	private static final Namespace NAMESPACE = Namespace.create(DisableIfNameExtension.class);
+
 	@Override
 	public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
 		/* We need to make sure not to accidentally disable the @ParameterizedTest method itself.
@@ -34,57 +42,88 @@ public class DisableIfNameExtension implements ExecutionCondition {
 		 */
 		if (!context.getUniqueId().contains("test-template-invocation"))
 			return enabled("Never disable parameterized test method itself");
-		return PioneerAnnotationUtils
-				.findClosestEnclosingAnnotation(context, DisableIfDisplayName.class)
-				.map(annotation -> disable(context, annotation))
-				.orElseGet(() -> enabled("No instructions to disable"));
+		try (Measurement measurement = PioneerProfiler.measure(context, getClass(), "evaluateExecutionCondition")) {
+			return conditionFor(context)
+					.map(condition -> condition.evaluate(context.getDisplayName()))
+					.orElseGet(() -> enabled("No instructions to disable"));
+		}
 	}
 
-	private ConditionEvaluationResult disable(ExtensionContext context, DisableIfDisplayName annotation) {
-		String[] substrings = annotation.contains();
-		String[] regExps = annotation.matches();
-		boolean checkSubstrings = substrings.length > 0;
-		boolean checkRegExps = regExps.length > 0;
+	@SuppressWarnings("unchecked")
+	private static Optional<DisplayNameCondition> conditionFor(ExtensionContext context) {
+		// this `context` belongs to a single invocation; to look up the annotation and compile the
+		// condition only once for all invocations, it is stored in the parameterized test's context
+		ExtensionContext templateContext = context.getParent().orElse(context);
+		return templateContext
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(context.getRequiredTestMethod().toString(), __ -> PioneerAnnotationUtils
+						.findClosestEnclosingAnnotation(context, DisableIfDisplayName.class)
+						.map(DisplayNameCondition::compile), Optional.class);
+	}
 
-		if (checkRegExps == checkSubstrings)
-			throw new ExtensionConfigurationException(format("%s %s.",
-				"@DisableIfDisplayName requires that either `contains` or `matches` is specified, but both are",
-				(checkSubstrings ? "present" : "empty")));
+	private static class DisplayNameCondition {
 
-		String displayName = context.getDisplayName();
+		private final SubstringMatcher substrings;
+		private final List<Pattern> regExps;
 
-		if (checkSubstrings)
-			return disableIfContains(displayName, substrings);
-		else
-			return disableIfMatches(displayName, regExps);
-	}
+		private DisplayNameCondition(SubstringMatcher substrings, List<Pattern> regExps) {
+			this.substrings = substrings;
+			this.regExps = regExps;
+		}
 
-	private ConditionEvaluationResult disableIfContains(String displayName, String[] substrings) {
-		//@formatter:off
-		String matches = Stream
-				.of(substrings)
-				.filter(displayName::contains)
-				.collect(Collectors.joining("', '"));
-		return matches.isEmpty()
-				? enabled(reason(displayName, "doesn't contain any substring."))
-				: disabled(reason(displayName, format("contains '%s'.", matches)));
-		//@formatter:on
-	}
+		static DisplayNameCondition compile(DisableIfDisplayName annotation) {
+			String[] substrings = annotation.contains();
+			String[] regExps = annotation.matches();
+			boolean checkSubstrings = substrings.length > 0;
+			boolean checkRegExps = regExps.length > 0;
 
-	private ConditionEvaluationResult disableIfMatches(String displayName, String[] regExps) {
-		//@formatter:off
-		String matches = Stream
-				.of(regExps)
-				.filter(displayName::matches)
-				.collect(Collectors.joining("', '"));
-		return matches.isEmpty()
-				? enabled(reason(displayName, "doesn't match any regular expression."))
-				: disabled(reason(displayName, format("matches '%s'.",matches)));
-		//@formatter:on
-	}
+			if (checkRegExps == checkSubstrings)
+				throw new ExtensionConfigurationException(format("%s %s.",
+					"@DisableIfDisplayName requires that either `contains` or `matches` is specified, but both are",
+					(checkSubstrings ? "present" : "empty")));
+
+			if (checkSubstrings)
+				return new DisplayNameCondition(new SubstringMatcher(substrings), null);
+
+			List<Pattern> patterns = new ArrayList<>();
+			for (String regExp : regExps)
+				patterns.add(Pattern.compile(regExp));
+			return new DisplayNameCondition(null, patterns);
+		}
+
+		ConditionEvaluationResult evaluate(String displayName) {
+			if (substrings != null)
+				return disableIfContains(displayName);
+			else
+				return disableIfMatches(displayName);
+		}
+
+		private ConditionEvaluationResult disableIfContains(String displayName) {
+			String matches = String.join("', '", substrings.findAllContainedIn(displayName));
+			//@formatter:off
+			return matches.isEmpty()
+					? enabled(reason(displayName, "doesn't contain any substring."))
+					: disabled(reason(displayName, format("contains '%s'.", matches)));
+			//@formatter:on
+		}
+
+		private ConditionEvaluationResult disableIfMatches(String displayName) {
+			List<String> matchingRegExps = new ArrayList<>();
+			for (Pattern regExp : regExps)
+				if (regExp.matcher(displayName).matches())
+					matchingRegExps.add(regExp.pattern());
+			String matches = String.join("', '", matchingRegExps);
+			//@formatter:off
+			return matches.isEmpty()
+					? enabled(reason(displayName, "doesn't match any regular expression."))
+					: disabled(reason(displayName, format("matches '%s'.", matches)));
+			//@formatter:on
+		}
+
+		private static String reason(String displayName, String outcome) {
+			return format("Display name '%s' %s", displayName, outcome);
+		}
 
-	private static String reason(String displayName, String outcome) {
-		return format("Display name '%s' %s", displayName, outcome);
 	}
 
 }
@@ -12,6 +12,7 @@ package org.junitpioneer.jupiter.params;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.util.Collections;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junitpioneer.internal.DisableIfArgumentPlan;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
 import org.junitpioneer.jupiter.CartesianAnnotationConsumer;
 
@@ -49,14 +51,20 @@ class RangeSourceArgumentsProvider implements ArgumentsProvider, CartesianAnnota
 	@Override
 	public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws Exception {
 		// argumentSource is present if fed through the CartesianAnnotationConsumer interface
-		if (argumentsSource == null)
+		boolean providesCartesianSet = argumentsSource != null;
+		if (!providesCartesianSet)
 			initArgumentsSource(context);
 		Class<? extends Annotation> argumentsSourceClass = argumentsSource.annotationType();
 		Class<? extends Range> rangeClass = argumentsSourceClass.getAnnotation(RangeClass.class).value();
 
 		Range<?> range = (Range<?>) rangeClass.getConstructors()[0].newInstance(argumentsSource);
 		range.validate();
-		return asStream(range).map(Arguments::of);
+		Stream<?> values = asStream(range);
+		// a Cartesian set provides values for a single parameter, so they can only be
+		// filtered once the Cartesian product is computed
+		if (!providesCartesianSet)
+			values = DisableIfArgumentPlan.filterArguments(context, values, Collections::singletonList);
+		return values.map(Arguments::of);
 	}
 
 	private void initArgumentsSource(ExtensionContext context) {
@@ -9,6 +9,9 @@ module org.junitpioneer {
 	exports org.junitpioneer.jupiter.params;
 
 	provides org.junit.platform.launcher.TestExecutionListener
-			with org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener;
+			with org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener,
+				org.junitpioneer.internal.ProfilingExecutionListener,
+				org.junitpioneer.internal.RetryStatisticsExecutionListener;
 	uses org.junitpioneer.jupiter.IssueProcessor;
+	uses org.junitpioneer.jupiter.FlakyTestProcessor;
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.RetryingTest;
+
+@DisplayName("Pioneer annotation index")
+class PioneerAnnotationIndexTests {
+
+	@Test
+	@DisplayName("knows nothing about types if there is no index")
+	void noIndex() {
+		boolean absent = PioneerAnnotationIndex.isKnownToBeAbsent(PioneerAnnotationIndexTests.class, RetryingTest.class);
+
+		assertThat(absent).isFalse();
+	}
+
+	@Test
+	@DisplayName("knows nothing about non-Pioneer annotations")
+	void nonPioneerAnnotation() {
+		boolean absent = PioneerAnnotationIndex.isKnownToBeAbsent(PioneerAnnotationIndexTests.class, Test.class);
+
+		assertThat(absent).isFalse();
+	}
+
+	@Test
+	@DisplayName("reads types without Pioneer annotations")
+	void typesWithoutAnnotations() {
+		Set<String> types = PioneerAnnotationIndex
+				.typesWithoutAnnotations(Arrays
+						.asList("# comment", "-com.example.PlainTests", "+com.example.PioneerTests",
+							"-com.example.PlainTests$Nested", ""));
+
+		assertThat(types).containsExactlyInAnyOrder("com.example.PlainTests", "com.example.PlainTests$Nested");
+	}
+
+	@Test
+	@DisplayName("treats types that may carry Pioneer annotations in any index as carrying them")
+	void conflictingIndexes() {
+		Set<String> types = PioneerAnnotationIndex
+				.typesWithoutAnnotations(Arrays.asList("-com.example.Tests", "+com.example.Tests"));
+
+		assertThat(types).isEmpty();
+	}
+
+}
@@ -17,6 +17,7 @@ import java.lang.annotation.Inherited;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
@@ -562,5 +563,67 @@ public class PioneerAnnotationUtilsTests {
 		}
 
 	}
+	@Nested
+	@DisplayName("caching lookups")
+	class CachingTests {
+
+		@Test
+		@DisplayName("returns the same annotations on repeated lookups")
+		void repeatedLookups() throws NoSuchMethodException {
+			TestExtensionContext testContext = new TestExtensionContext(AnnotationCluster.class,
+				AnnotationCluster.class.getMethod("direct"));
+
+			List<RepeatableTestAnnotation> first = PioneerAnnotationUtils
+					.findClosestEnclosingRepeatableAnnotations(testContext, RepeatableTestAnnotation.class)
+					.collect(Collectors.toList());
+			List<RepeatableTestAnnotation> second = PioneerAnnotationUtils
+					.findClosestEnclosingRepeatableAnnotations(testContext, RepeatableTestAnnotation.class)
+					.collect(Collectors.toList());
+
+			assertThat(first).hasSize(2).containsExactlyElementsOf(second);
+		}
+
+		@Test
+		@DisplayName("distinguishes lookups for the same method in different test classes")
+		void sameMethodDifferentClasses() throws NoSuchMethodException {
+			Method method = Enclosing.class.getMethod("notAnnotated");
+
+			boolean inEnclosing = PioneerAnnotationUtils
+					.isAnyAnnotationPresent(new TestExtensionContext(Enclosing.class, method),
+						NonRepeatableTestAnnotation.class);
+			boolean inAnnotationCheck = PioneerAnnotationUtils
+					.isAnyAnnotationPresent(new TestExtensionContext(AnnotationCheck.class, method),
+						NonRepeatableTestAnnotation.class);
+
+			assertThat(inEnclosing).isTrue();
+			assertThat(inAnnotationCheck).isFalse();
+		}
+
+		@Test
+		@DisplayName("distinguishes lookups for different annotation types")
+		void differentAnnotationTypes() throws NoSuchMethodException {
+			TestExtensionContext testContext = new TestExtensionContext(AnnotationCheck.class,
+				AnnotationCheck.class.getMethod("direct"));
+
+			Optional<NonRepeatableTestAnnotation> nonRepeatable = PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(testContext, NonRepeatableTestAnnotation.class);
+			Optional<NotInheritedAnnotation> notInherited = PioneerAnnotationUtils
+					.findClosestEnclosingAnnotation(testContext, NotInheritedAnnotation.class);
+
+			assertThat(nonRepeatable).isPresent();
+			assertThat(notInherited).isEmpty();
+		}
+
+		@Test
+		@DisplayName("identifies container annotations")
+		void containerAnnotations() {
+			Annotation container = AnnotationCluster.class.getAnnotation(RepeatableTestAnnotation.Container.class);
+			Annotation nonContainer = AnnotationCluster.class.getAnnotation(NonRepeatableTestAnnotation.class);
+
+			assertThat(PioneerAnnotationUtils.isContainerAnnotation(container)).isTrue();
+			assertThat(PioneerAnnotationUtils.isContainerAnnotation(nonContainer)).isFalse();
+		}
+
+	}
 
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.launcher.TestPlan;
+import org.junitpioneer.jupiter.Issue;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+
+@DisplayName("Profiling execution listener")
+@ResourceLock("org.junitpioneer.internal.PioneerProfiler")
+class ProfilingExecutionListenerTests {
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	private final ProfilingExecutionListener listener = new ProfilingExecutionListener(new PrintStream(out));
+	private final TestPlan testPlan = TestPlan.from(Collections.emptyList());
+
+	@Test
+	@DisplayName("prints nothing if profiling is disabled")
+	void profilingDisabled() {
+		listener.testPlanExecutionStarted(testPlan);
+		ExecutionResults results = PioneerTestKit.executeTestMethod(ProfiledTestCases.class, "profiled");
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(results).hasSingleSucceededTest();
+		assertThat(out.toString()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("prints the measured callbacks if profiling is enabled")
+	void profilingEnabled() {
+		listener.testPlanExecutionStarted(testPlan);
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(ProfiledTestCases.class, "profiled",
+					Collections.singletonMap(PioneerProfiler.ENABLED_PROPERTY_NAME, "true"));
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(results).hasSingleSucceededTest();
+		assertThat(out.toString())
+				.startsWith("JUnit Pioneer profiling")
+				.contains("IssueExtension.beforeEach");
+	}
+
+	@Test
+	@DisplayName("prints measured callbacks only once")
+	void drainsStatistics() {
+		PioneerTestKit
+				.executeTestMethodWithParameterTypes(ProfiledTestCases.class, "profiled",
+					Collections.singletonMap(PioneerProfiler.ENABLED_PROPERTY_NAME, "true"));
+		listener.testPlanExecutionStarted(testPlan);
+		listener.testPlanExecutionFinished(testPlan);
+		out.reset();
+
+		listener.testPlanExecutionStarted(testPlan);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(out.toString()).isEmpty();
+	}
+
+	static class ProfiledTestCases {
+
+		@Test
+		@Issue("#42")
+		void profiled() {
+		}
+
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.launcher.TestPlan;
+import org.junitpioneer.jupiter.FlakyTest;
+import org.junitpioneer.jupiter.RetryingTest;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+
+@DisplayName("Retry statistics execution listener")
+@ResourceLock("org.junitpioneer.internal.RetryStatistics")
+class RetryStatisticsExecutionListenerTests {
+
+	private static final String TEST_CASES_ID = "[engine:junit-jupiter]/[class:"
+			+ RetryingTestCases.class.getName() + "]";
+
+	private final RetryStatisticsExecutionListener listener = new RetryStatisticsExecutionListener();
+	private final TestPlan testPlan = TestPlan.from(Collections.emptyList());
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("records the outcomes in the statistics file")
+	void recordsOutcomes() throws IOException {
+		Path statisticsFile = directory.resolve("statistics").resolve("retries.tsv");
+
+		execute("passes", statisticsFile);
+		execute("passes", statisticsFile);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(Files.readAllLines(statisticsFile, UTF_8))
+				.containsExactly("2\t0\t0\t0\t" + TEST_CASES_ID + "/[test-template:passes()]");
+	}
+
+	@Test
+	@DisplayName("reports flaky tests to the processors")
+	void reportsFlakyTests() {
+		Path statisticsFile = directory.resolve("retries.tsv");
+
+		execute("failsOnFirstExecution", statisticsFile);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(StoringFlakyTestProcessor.FLAKY_TESTS)
+				.contains(new FlakyTest(TEST_CASES_ID + "/[test-template:failsOnFirstExecution()]", 0, 1, 0));
+	}
+
+	@Test
+	@DisplayName("doesn't retry tests that failed repeatedly")
+	void failsFastForBrokenTests() throws IOException {
+		Path statisticsFile = directory.resolve("retries.tsv");
+		Files
+				.write(statisticsFile, Collections
+						.singletonList("0\t0\t3\t3\t" + TEST_CASES_ID + "/[test-template:failsAlways()]"), UTF_8);
+
+		ExecutionResults results = execute("failsAlways", statisticsFile);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(1).hasNumberOfFailedTests(1);
+		assertThat(Files.readAllLines(statisticsFile, UTF_8))
+				.containsExactly("0\t0\t4\t4\t" + TEST_CASES_ID + "/[test-template:failsAlways()]");
+	}
+
+	@Test
+	@DisplayName("retries stable tests only once")
+	void retriesStableTestsOnce() throws IOException {
+		Path statisticsFile = directory.resolve("retries.tsv");
+		Files
+				.write(statisticsFile, Collections
+						.singletonList("10\t0\t0\t0\t" + TEST_CASES_ID + "/[test-template:failsAlways()]"), UTF_8);
+
+		ExecutionResults results = execute("failsAlways", statisticsFile);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfFailedTests(1);
+	}
+
+	@Test
+	@DisplayName("records executions that fail outside of the test method as failed")
+	void recordsSetupFailures() throws IOException {
+		Path statisticsFile = directory.resolve("retries.tsv");
+
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(FailingSetupTestCases.class, "passes", Collections
+						.singletonMap(RetryStatistics.FILE_PROPERTY_NAME, statisticsFile.toString()));
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(1).hasNumberOfFailedTests(1);
+		assertThat(Files.readAllLines(statisticsFile, UTF_8))
+				.containsExactly("0\t0\t1\t1\t[engine:junit-jupiter]/[class:" + FailingSetupTestCases.class.getName()
+						+ "]/[test-template:passes()]");
+	}
+
+	private static ExecutionResults execute(String testMethod, Path statisticsFile) {
+		Map<String, String> configurationParameters = Collections
+				.singletonMap(RetryStatistics.FILE_PROPERTY_NAME, statisticsFile.toString());
+		return PioneerTestKit
+				.executeTestMethodWithParameterTypes(RetryingTestCases.class, testMethod, configurationParameters);
+	}
+
+	static class RetryingTestCases {
+
+		private static int executionCount;
+
+		@RetryingTest(5)
+		void passes() {
+		}
+
+		@RetryingTest(5)
+		void failsOnFirstExecution() {
+			executionCount++;
+			if (executionCount % 2 == 1)
+				throw new IllegalArgumentException();
+		}
+
+		@RetryingTest(5)
+		void failsAlways() {
+			throw new IllegalArgumentException();
+		}
+
+	}
+
+	static class FailingSetupTestCases {
+
+		@BeforeEach
+		void failSetup() {
+			throw new IllegalStateException();
+		}
+
+		@RetryingTest(5)
+		void passes() {
+		}
+
+	}
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junitpioneer.jupiter.FlakyTest;
+import org.junitpioneer.jupiter.FlakyTestProcessor;
+
+/**
+ * Simple example service implementation for test usage of {@link FlakyTestProcessor}.
+ */
+public class StoringFlakyTestProcessor implements FlakyTestProcessor {
+
+	// collected flaky tests are static to make them accessible for tests
+	static final List<FlakyTest> FLAKY_TESTS = new ArrayList<>();
+
+	@Override
+	public void processFlakyTests(List<FlakyTest> flakyTests) {
+		FLAKY_TESTS.clear();
+		FLAKY_TESTS.addAll(flakyTests);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("SubstringMatcher")
+class SubstringMatcherTests {
+
+	private static final String[] SUBSTRINGS = { "he", "she", "his", "hers" };
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "h", "sh", "hi", "ahis", "ushers", "Hers", "xyz", "s h e" })
+	@DisplayName("agrees with String::contains")
+	void agreesWithStringContains(String text) {
+		SubstringMatcher matcher = new SubstringMatcher(SUBSTRINGS);
+
+		boolean expected = false;
+		for (String substring : SUBSTRINGS)
+			expected |= text.contains(substring);
+
+		assertThat(matcher.isAnyContainedIn(text)).isEqualTo(expected);
+	}
+
+	@Test
+	@DisplayName("finds all contained substrings in declaration order")
+	void findsAllContainedSubstrings() {
+		SubstringMatcher matcher = new SubstringMatcher(SUBSTRINGS);
+
+		assertThat(matcher.findAllContainedIn("ushers")).containsExactly("he", "she", "hers");
+	}
+
+	@Test
+	@DisplayName("finds substrings that are suffixes of other substrings")
+	void findsSuffixSubstrings() {
+		SubstringMatcher matcher = new SubstringMatcher(new String[] { "abcd", "bc" });
+
+		assertThat(matcher.isAnyContainedIn("xabcx")).isTrue();
+		assertThat(matcher.findAllContainedIn("xabcx")).containsExactly("bc");
+	}
+
+	@Test
+	@DisplayName("never matches without substrings")
+	void noSubstrings() {
+		SubstringMatcher matcher = new SubstringMatcher(new String[0]);
+
+		assertThat(matcher.isAnyContainedIn("anything")).isFalse();
+		assertThat(matcher.findAllContainedIn("anything")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("always matches the empty substring")
+	void emptySubstring() {
+		SubstringMatcher matcher = new SubstringMatcher(new String[] { "" });
+
+		assertThat(matcher.isAnyContainedIn("")).isTrue();
+		assertThat(matcher.findAllContainedIn("text")).containsExactly("");
+	}
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethod;
+import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethodWithParameterTypes;
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junitpioneer.testkit.ExecutionResults;
+
+@DisplayName("CaptureLogsExtension ")
+@ResourceLock(value = CaptureLogsExtension.ROOT_LOGGER_RESOURCE, mode = ResourceAccessMode.READ_WRITE)
+class CaptureLogsExtensionTests {
+
+	private static final Logger LOGGER = Logger.getLogger(CaptureLogsExtensionTests.class.getName());
+
+	private final RecordingHandler originalHandler = new RecordingHandler();
+	private Handler[] previousHandlers;
+
+	@BeforeEach
+	void replaceRootHandlers() {
+		Logger rootLogger = Logger.getLogger("");
+		previousHandlers = rootLogger.getHandlers();
+		for (Handler handler : previousHandlers)
+			rootLogger.removeHandler(handler);
+		rootLogger.addHandler(originalHandler);
+	}
+
+	@AfterEach
+	void restoreRootHandlers() {
+		Logger rootLogger = Logger.getLogger("");
+		rootLogger.removeHandler(originalHandler);
+		for (Handler handler : previousHandlers)
+			rootLogger.addHandler(handler);
+	}
+
+	@Nested
+	@DisplayName("with java.util.logging's own LogManager ")
+	@EnabledIf("org.junitpioneer.jupiter.CaptureLogsExtensionTests#usesJdkLogManager")
+	class JdkLogManagerTests {
+
+		@Test
+		@DisplayName("captures records instead of passing them to the root handlers")
+		void capturesRecords() {
+			ExecutionResults results = executeTestMethodWithParameterTypes(CaptureLogsTestCases.class,
+				"capturesRecords", CapturedLogs.class);
+
+			assertThat(results).hasSingleSucceededTest();
+			assertThat(originalHandler.records).isEmpty();
+		}
+
+		@Test
+		@DisplayName("keeps only the last records")
+		void keepsLastRecords() {
+			ExecutionResults results = executeTestMethodWithParameterTypes(CaptureLogsTestCases.class,
+				"keepsLastRecords", CapturedLogs.class);
+
+			assertThat(results).hasSingleSucceededTest();
+		}
+
+		@Test
+		@DisplayName("leaves the loggers' levels unchanged by default")
+		void keepsLevelsByDefault() {
+			Logger rootLogger = Logger.getLogger("");
+			Level level = rootLogger.getLevel();
+			rootLogger.setLevel(Level.WARNING);
+			try {
+				ExecutionResults results = executeTestMethodWithParameterTypes(CaptureLogsTestCases.class,
+					"capturesConfiguredLevels", CapturedLogs.class);
+
+				assertThat(results).hasSingleSucceededTest();
+				assertThat(rootLogger.getLevel()).isEqualTo(Level.WARNING);
+			}
+			finally {
+				rootLogger.setLevel(level);
+			}
+		}
+
+		@Test
+		@DisplayName("passes the records on to the root handlers if the test fails")
+		void passesOnRecordsOnFailure() {
+			ExecutionResults results = executeTestMethod(CaptureLogsTestCases.class, "fails");
+
+			assertThat(results).hasSingleFailedTest();
+			assertThat(originalHandler.records)
+					.extracting(LogRecord::getMessage)
+					.containsExactly("Lo! in the orient");
+		}
+
+		@Test
+		@DisplayName("restores the root handlers and level")
+		void restoresRootLogger() {
+			Level level = Logger.getLogger("").getLevel();
+
+			executeTestMethodWithParameterTypes(CaptureLogsTestCases.class, "capturesRecords", CapturedLogs.class);
+
+			assertThat(Logger.getLogger("").getHandlers()).containsExactly(originalHandler);
+			assertThat(Logger.getLogger("").getLevel()).isEqualTo(level);
+		}
+
+	}
+
+	@Nested
+	@DisplayName("with another LogManager ")
+	@DisabledIf("org.junitpioneer.jupiter.CaptureLogsExtensionTests#usesJdkLogManager")
+	class OtherLogManagerTests {
+
+		@Test
+		@DisplayName("fails instead of capturing nothing")
+		void failsForOtherLogManager() {
+			ExecutionResults results = executeTestMethod(CaptureLogsTestCases.class, "fails");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining(LogManager.getLogManager().getClass().getName());
+		}
+
+	}
+
+	@Nested
+	@DisplayName("with illegal configuration ")
+	class IllegalConfigurationTests {
+
+		@Test
+		@DisplayName("fails for unknown level")
+		void failsForUnknownLevel() {
+			ExecutionResults results = executeTestMethod(CaptureLogsTestCases.class, "unknownLevel");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("unknown level `LOUD`");
+		}
+
+		@Test
+		@DisplayName("fails for non-positive capacity")
+		void failsForNonPositiveCapacity() {
+			ExecutionResults results = executeTestMethod(CaptureLogsTestCases.class, "zeroCapacity");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("positive capacity");
+		}
+
+	}
+
+	static class CaptureLogsTestCases {
+
+		@Test
+		@CaptureLogs(level = "FINE")
+		void capturesRecords(CapturedLogs logs) {
+			LOGGER.fine("Lo! in the orient");
+			LOGGER.log(Level.INFO, "when the {0} light", "gracious");
+			LOGGER.finest("Lifts up his burning head");
+
+			assertThat(logs.messages()).containsExactly("Lo! in the orient", "when the gracious light");
+		}
+
+		@Test
+		@CaptureLogs
+		void capturesConfiguredLevels(CapturedLogs logs) {
+			LOGGER.info("Lo! in the orient");
+			LOGGER.warning("when the gracious light");
+
+			assertThat(logs.messages()).containsExactly("when the gracious light");
+		}
+
+		@Test
+		@CaptureLogs(capacity = 2)
+		void keepsLastRecords(CapturedLogs logs) {
+			LOGGER.info("Lo! in the orient");
+			LOGGER.info("when the gracious light");
+			LOGGER.info("Lifts up his burning head");
+
+			assertThat(logs.messages()).containsExactly("when the gracious light", "Lifts up his burning head");
+		}
+
+		@Test
+		@CaptureLogs
+		void fails() {
+			LOGGER.info("Lo! in the orient");
+			fail("each under eye");
+		}
+
+		@Test
+		@CaptureLogs(level = "LOUD")
+		void unknownLevel() {
+		}
+
+		@Test
+		@CaptureLogs(capacity = 0)
+		void zeroCapacity() {
+		}
+
+	}
+
+	// the build configures log4j's LogManager for most tests but runs these tests with both
+	static boolean usesJdkLogManager() {
+		return LogManager.getLogManager().getClass() == LogManager.class;
+	}
+
+	private static class RecordingHandler extends Handler {
+
+		private final List<LogRecord> records = new ArrayList<>();
+
+		@Override
+		public void publish(LogRecord logRecord) {
+			records.add(logRecord);
+		}
+
+		@Override
+		public void flush() {
+			// nothing to flush
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+
+	}
+
+}
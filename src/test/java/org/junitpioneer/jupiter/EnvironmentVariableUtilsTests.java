@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.security.AccessControlException;
 import java.security.Policy;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +45,25 @@ class EnvironmentVariableUtilsTests {
 		assertThat(environmentCopy.get("TEST")).isEqualTo("test");
 	}
 
+	@Test
+	void clearAndSetSeveralVariablesAtOnce() {
+		EnvironmentVariableUtils.set("TEST", "test");
+		Map<String, String> entriesToSet = new HashMap<>();
+		entriesToSet.put("TEST_A", "a");
+		entriesToSet.put("TEST_B", "b");
+
+		try {
+			EnvironmentVariableUtils.clearAndSet(Collections.singleton("TEST"), entriesToSet);
+
+			Map<String, String> environmentCopy = new HashMap<>(System.getenv());
+			assertThat(environmentCopy).doesNotContainKey("TEST").containsAllEntriesOf(entriesToSet);
+		}
+		finally {
+			EnvironmentVariableUtils.clearAndSet(entriesToSet.keySet(), Collections.emptyMap());
+		}
+		assertThat(System.getenv()).doesNotContainKeys("TEST_A", "TEST_B");
+	}
+
 	/*
 	 * The documentation mentions that without proper permissions an enabled security manager will not
 	 * give access to the internals we need to change environment variables. These tests confirm that.
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junitpioneer.jupiter.GoldenFiles.assertMatchesGoldenFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+@DisplayName("GoldenFiles ")
+@ReadsSystemProperty
+class GoldenFilesTests {
+
+	private static final String SEPARATOR = StdIoExtension.SEPARATOR;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("passes if the output matches the golden file")
+	void passesForMatchingOutput() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+
+		assertThatCode(() -> assertMatchesGoldenFile(goldenFile,
+			"Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR)).doesNotThrowAnyException();
+	}
+
+	@Test
+	@DisplayName("reports the first differing line")
+	void reportsFirstDifferingLine() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile,
+			"Lo! in the orient" + SEPARATOR + "when the glorious light" + SEPARATOR))
+					.isInstanceOf(AssertionFailedError.class)
+					.hasMessageContaining("line 2")
+					.hasMessageContaining("expected: when the gracious light")
+					.hasMessageContaining("but was:  when the glorious light");
+	}
+
+	@Test
+	@DisplayName("fails if the output is shorter than the golden file")
+	void failsForShorterOutput() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, "Lo! in the orient" + SEPARATOR))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 2")
+				.hasMessageContaining("but was:  <end of output>");
+	}
+
+	@Test
+	@DisplayName("fails if the output is longer than the golden file")
+	void failsForLongerOutput() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR);
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile,
+			"Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR))
+					.isInstanceOf(AssertionFailedError.class)
+					.hasMessageContaining("expected: <end of output>");
+	}
+
+	@Test
+	@DisplayName("finds differences in large output")
+	void findsDifferencesInLargeOutput() throws IOException {
+		// lines of 1024 bytes, so the mismatch at 4 MiB is at the start of line 4097
+		byte[] expected = new byte[5 * 1024 * 1024 + 3];
+		for (int index = 0; index < expected.length; index++)
+			expected[index] = index % 1024 == 1023 ? (byte) '\n' : (byte) 'a';
+		Path goldenFile = directory.resolve("large.golden");
+		Files.write(goldenFile, expected);
+		byte[] actual = expected.clone();
+		actual[actual.length - 2] = 'b';
+		actual[4 * 1024 * 1024] = 'b';
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, actual))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 4097:")
+				.hasMessageContaining("but was:  baaa");
+		assertThatCode(() -> assertMatchesGoldenFile(goldenFile, expected)).doesNotThrowAnyException();
+	}
+
+	@Test
+	@DisplayName("fails if the golden file doesn't exist")
+	void failsForMissingGoldenFile() {
+		Path goldenFile = directory.resolve("missing.golden");
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, "Lo! in the orient"))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("does not exist")
+				.hasMessageContaining(GoldenFiles.UPDATE_PROPERTY_NAME);
+	}
+
+	@Test
+	@DisplayName("compares the lines captured by StdOut")
+	void comparesStdOut() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+		StdOut out = new StdOut();
+		PrintStream stream = new PrintStream(out);
+		stream.println("Lo! in the orient");
+		stream.println("when the gracious light");
+
+		assertThatCode(() -> assertMatchesGoldenFile(goldenFile, out)).doesNotThrowAnyException();
+	}
+
+	@Test
+	@DisplayName("fails if StdOut didn't capture the final line separator")
+	void failsForMissingLineSeparatorOfStdOut() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+		StdOut out = new StdOut();
+		PrintStream stream = new PrintStream(out);
+		stream.println("Lo! in the orient");
+		stream.print("when the gracious light");
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, out))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 2");
+	}
+
+	@Test
+	@DisplayName("fails if StdOut captured trailing empty lines that the golden file doesn't contain")
+	void failsForTrailingEmptyLinesOfStdOut() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR);
+		StdOut out = new StdOut();
+		PrintStream stream = new PrintStream(out);
+		stream.println("Lo! in the orient");
+		stream.println();
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, out))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 2")
+				.hasMessageContaining("expected: <end of output>");
+	}
+
+	@Test
+	@DisplayName("reports the first line captured by StdOut that differs")
+	void reportsFirstDifferingLineOfStdOut() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+		StdOut out = new StdOut();
+		PrintStream stream = new PrintStream(out);
+		stream.println("Lo! in the orient");
+		stream.println("when the glorious light");
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, out))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 2")
+				.hasMessageContaining("expected: when the gracious light")
+				.hasMessageContaining("but was:  when the glorious light");
+	}
+
+	@Test
+	@DisplayName("fails if StdOut captured fewer lines than the golden file")
+	void failsForFewerLinesOfStdOut() throws IOException {
+		Path goldenFile = write("Lo! in the orient" + SEPARATOR + "when the gracious light" + SEPARATOR);
+		StdOut out = new StdOut();
+		new PrintStream(out).println("Lo! in the orient");
+
+		assertThatThrownBy(() -> assertMatchesGoldenFile(goldenFile, out))
+				.isInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("line 2")
+				.hasMessageContaining("but was:  <end of output>");
+	}
+
+	@Test
+	@SetSystemProperty(key = GoldenFiles.UPDATE_PROPERTY_NAME, value = "true")
+	@DisplayName("writes the text captured by StdOut in update mode")
+	void writesStdOutInUpdateMode() throws IOException {
+		Path goldenFile = directory.resolve("output.golden");
+		StdOut out = new StdOut();
+		PrintStream stream = new PrintStream(out);
+		stream.println("Lo! in the orient");
+		stream.println();
+		stream.print("when the gracious light");
+
+		assertMatchesGoldenFile(goldenFile, out);
+
+		assertThat(goldenFile)
+				.hasBinaryContent(("Lo! in the orient" + SEPARATOR + SEPARATOR + "when the gracious light")
+						.getBytes(Charset.defaultCharset()));
+	}
+
+	@Test
+	@SetSystemProperty(key = GoldenFiles.UPDATE_PROPERTY_NAME, value = "true")
+	@DisplayName("writes the golden file in update mode")
+	void writesGoldenFileInUpdateMode() throws IOException {
+		Path goldenFile = directory.resolve("new").resolve("output.golden");
+
+		assertMatchesGoldenFile(goldenFile, "Lo! in the orient");
+
+		assertThat(goldenFile).hasContent("Lo! in the orient");
+	}
+
+	private Path write(String content) throws IOException {
+		Path goldenFile = directory.resolve("output.golden");
+		Files.write(goldenFile, content.getBytes(Charset.defaultCharset()));
+		return goldenFile;
+	}
+
+}
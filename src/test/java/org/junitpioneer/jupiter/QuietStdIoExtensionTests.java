@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2021 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethod;
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.Resources;
+import org.junitpioneer.testkit.ExecutionResults;
+
+@DisplayName("QuietStdIoExtension ")
+@WritesStdIo
+@ResourceLock(value = Resources.SYSTEM_ERR, mode = ResourceAccessMode.READ_WRITE)
+class QuietStdIoExtensionTests {
+
+	private PrintStream originalOut;
+	private PrintStream originalErr;
+	private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+	@BeforeEach
+	void replaceConsole() {
+		originalOut = System.out;
+		originalErr = System.err;
+		PrintStream consoleStream = new PrintStream(console, true);
+		System.setOut(consoleStream);
+		System.setErr(consoleStream);
+	}
+
+	@AfterEach
+	void restoreConsole() {
+		System.setOut(originalOut);
+		System.setErr(originalErr);
+	}
+
+	@Test
+	@DisplayName("discards the output of successful tests")
+	void discardsOutputOfSuccessfulTest() {
+		ExecutionResults results = executeTestMethod(QuietStdIoTestCases.class, "succeeds");
+
+		assertThat(results).hasSingleSucceededTest();
+		assertThat(console.toString()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("replays the output of failed tests")
+	void replaysOutputOfFailedTest() {
+		ExecutionResults results = executeTestMethod(QuietStdIoTestCases.class, "fails");
+
+		assertThat(results).hasSingleFailedTest();
+		assertThat(console.toString()).contains("Lo! in the orient", "when the gracious light");
+	}
+
+	@Test
+	@DisplayName("replays the output of aborted tests")
+	void replaysOutputOfAbortedTest() {
+		ExecutionResults results = executeTestMethod(QuietStdIoTestCases.class, "aborts");
+
+		assertThat(results).hasSingleAbortedTest();
+		assertThat(console.toString()).contains("Lo! in the orient");
+	}
+
+	@Test
+	@DisplayName("restores System.out and System.err")
+	void restoresStreams() {
+		PrintStream consoleOut = System.out;
+		PrintStream consoleErr = System.err;
+
+		executeTestMethod(QuietStdIoTestCases.class, "succeeds");
+
+		assertThat(System.out).isSameAs(consoleOut);
+		assertThat(System.err).isSameAs(consoleErr);
+	}
+
+	@QuietStdIo
+	static class QuietStdIoTestCases {
+
+		@Test
+		void succeeds() {
+			System.out.println("Lo! in the orient");
+			System.err.println("when the gracious light");
+		}
+
+		@Test
+		void fails() {
+			System.out.println("Lo! in the orient");
+			System.err.println("when the gracious light");
+			fail("Lifts up his burning head");
+		}
+
+		@Test
+		void aborts() {
+			System.out.println("Lo! in the orient");
+			assumeTrue(false);
+		}
+
+	}
+
+}
@@ -12,19 +12,36 @@ package org.junitpioneer.jupiter;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.METHOD;
+import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junitpioneer.testkit.ExecutionResults;
 import org.junitpioneer.testkit.PioneerTestKit;
+import org.opentest4j.AssertionFailedError;
 
 class RetryingTestExtensionTests {
 
@@ -181,6 +198,164 @@ class RetryingTestExtensionTests {
 		assertThat(results).hasNumberOfDynamicallyRegisteredTests(0);
 	}
 
+	@Test
+	void failsWithRetriedException_executedTwice_passes() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCase.class, "failsOnlyOnFirstInvocationWithRetriedException");
+
+		assertThat(results)
+				.hasNumberOfDynamicallyRegisteredTests(2)
+				.hasNumberOfAbortedTests(1)
+				.hasNumberOfSucceededTests(1);
+	}
+
+	@Test
+	void failsWithExceptionNotInOnExceptions_executedOnce_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCase.class, "failsWithExceptionNotInOnExceptions");
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(1);
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("not retried");
+	}
+
+	@Test
+	void failsWithExceptionInNotOn_executedOnce_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCase.class, "failsWithExceptionInNotOn");
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(1);
+		assertThat(results).hasSingleFailedTest();
+	}
+
+	@Test
+	void maxConcurrentAttemptsLessThanOne_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCase.class, "maxConcurrentAttemptsLessThanOne");
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(0);
+	}
+
+	@Test
+	void concurrentAttempts_runConcurrently_succeeds() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(ConcurrentRetryingTestTestCase.class,
+					"waitsForConcurrentExecution", parallelExecution());
+
+		assertThat(results).hasNumberOfFailedTests(0).hasNumberOfSucceededTests(2);
+	}
+
+	@Test
+	void concurrentAttemptsFailAlways_failsOnce() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(ConcurrentRetryingTestTestCase.class, "failsAlways",
+					parallelExecution());
+
+		assertThat(results).hasNumberOfFailedTests(1).hasNumberOfSucceededTests(0);
+	}
+
+	@Test
+	void concurrentAttemptsDecidedBeforeExecutionStarts_skipsExecution() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(ConcurrentRetryingTestTestCase.class,
+					"failsWithoutRetryWhileSecondExecutionWaits", parallelExecution());
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfSkippedTests(1);
+		assertThat(results).hasSingleFailedTest().withExceptionInstanceOf(AssertionFailedError.class);
+	}
+
+	@Test
+	void concurrentAttemptsFailOnce_retryWaitsForAfterEachOfFailedExecution() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(AfterEachRetryingTestTestCase.class, "failsOnFirstExecution",
+					parallelExecution());
+
+		assertThat(results)
+				.hasNumberOfDynamicallyRegisteredTests(2)
+				.hasNumberOfAbortedTests(1)
+				.hasNumberOfSucceededTests(1);
+	}
+
+	@Test
+	void concurrentAttemptsWithoutParallelExecution_runSequentially() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCase.class, "failsOnlyOnFirstInvocationWithConcurrentAttempts");
+
+		assertThat(results)
+				.hasNumberOfDynamicallyRegisteredTests(2)
+				.hasNumberOfAbortedTests(1)
+				.hasNumberOfSucceededTests(1);
+	}
+
+	@Test
+	void failsAlwaysWithRetryBudget_executedUntilBudgetIsExhausted_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(RetryingTestTestCase.class, "failsAlways",
+					singletonMap(RetryBudget.ATTEMPTS_PROPERTY_NAME, "1"));
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfAbortedTests(1);
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("retry budget is exhausted");
+	}
+
+	@Test
+	void failsOnlyOnFirstInvocationWithRetryBudget_executedTwice_passes() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(RetryingTestTestCase.class, "failsOnlyOnFirstInvocation",
+					singletonMap(RetryBudget.ATTEMPTS_PROPERTY_NAME, "1"));
+
+		assertThat(results)
+				.hasNumberOfDynamicallyRegisteredTests(2)
+				.hasNumberOfAbortedTests(1)
+				.hasNumberOfSucceededTests(1);
+	}
+
+	@Test
+	void failsAlwaysWithExpiredRetryBudget_executedOnce_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(RetryingTestTestCase.class, "failsAlways",
+					singletonMap(RetryBudget.DURATION_PROPERTY_NAME, "PT0S"));
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(1);
+		assertThat(results).hasSingleFailedTest().withExceptionInstanceOf(AssertionFailedError.class);
+	}
+
+	@Test
+	void concurrentAttemptsFailAlwaysWithRetryBudget_executedUntilBudgetIsExhausted_fails() {
+		Map<String, String> configurationParameters = parallelExecution();
+		configurationParameters.put(RetryBudget.ATTEMPTS_PROPERTY_NAME, "1");
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(ConcurrentRetryingTestTestCase.class, "failsAlways",
+					configurationParameters);
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfAbortedTests(1);
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(AssertionFailedError.class)
+				.hasMessageContaining("retry budget is exhausted");
+	}
+
+	@Test
+	void invalidRetryBudget_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(RetryingTestTestCase.class, "failsNever",
+					singletonMap(RetryBudget.ATTEMPTS_PROPERTY_NAME, "many"));
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(0);
+	}
+
+	private static Map<String, String> parallelExecution() {
+		Map<String, String> configurationParameters = new HashMap<>();
+		configurationParameters.put("junit.jupiter.execution.parallel.enabled", "true");
+		configurationParameters.put("junit.jupiter.execution.parallel.config.strategy", "fixed");
+		configurationParameters.put("junit.jupiter.execution.parallel.config.fixed.parallelism", "4");
+		return configurationParameters;
+	}
+
 	// TEST CASES -------------------------------------------------------------------
 
 	// Some tests require state to keep track of the number of test executions.
@@ -286,6 +461,141 @@ class RetryingTestExtensionTests {
 			// Do nothing
 		}
 
+		@RetryingTest(value = 3, onExceptions = IOException.class)
+		void failsOnlyOnFirstInvocationWithRetriedException() throws IOException {
+			EXECUTION_COUNT++;
+			if (EXECUTION_COUNT == 1) {
+				throw new FileNotFoundException();
+			}
+		}
+
+		@RetryingTest(value = 3, onExceptions = IOException.class)
+		void failsWithExceptionNotInOnExceptions() {
+			throw new NullPointerException();
+		}
+
+		@RetryingTest(value = 3, notOn = IllegalArgumentException.class)
+		void failsWithExceptionInNotOn() {
+			throw new NumberFormatException();
+		}
+
+		@RetryingTest(maxAttempts = 2, maxConcurrentAttempts = 0)
+		void maxConcurrentAttemptsLessThanOne() {
+			// Do nothing
+		}
+
+		@RetryingTest(maxAttempts = 3, maxConcurrentAttempts = 2)
+		void failsOnlyOnFirstInvocationWithConcurrentAttempts() {
+			EXECUTION_COUNT++;
+			if (EXECUTION_COUNT == 1) {
+				throw new IllegalArgumentException();
+			}
+		}
+
+	}
+
+	// the state is shared by concurrent executions, so it needs the same `PER_CLASS` lifecycle as above
+	@TestInstance(PER_CLASS)
+	static class ConcurrentRetryingTestTestCase {
+
+		private final CountDownLatch bothExecutionsStarted = new CountDownLatch(2);
+		private final AtomicInteger executionsEvaluated = new AtomicInteger();
+		private final CountDownLatch secondExecutionEvaluated = new CountDownLatch(1);
+		private final CountDownLatch firstExecutionFinished = new CountDownLatch(1);
+
+		@RetryingTest(maxAttempts = 3, minSuccess = 2, maxConcurrentAttempts = 2)
+		@Execution(ExecutionMode.CONCURRENT)
+		void waitsForConcurrentExecution() throws InterruptedException {
+			bothExecutionsStarted.countDown();
+			// only succeeds if the other execution runs at the same time
+			if (!bothExecutionsStarted.await(10, TimeUnit.SECONDS))
+				throw new IllegalStateException("Executions didn't run concurrently");
+		}
+
+		@RetryingTest(maxAttempts = 4, maxConcurrentAttempts = 2)
+		@Execution(ExecutionMode.CONCURRENT)
+		void failsAlways() {
+			throw new IllegalArgumentException();
+		}
+
+		@RetryingTest(maxAttempts = 3, maxConcurrentAttempts = 2, notOn = IllegalArgumentException.class)
+		@Execution(ExecutionMode.CONCURRENT)
+		@ExtendWith(WaitForFirstExecution.class)
+		void failsWithoutRetryWhileSecondExecutionWaits() throws InterruptedException {
+			// the second execution is handed out while the first one runs, but only starts after it failed
+			// (whichever execution is evaluated first is the first one)
+			if (!secondExecutionEvaluated.await(10, TimeUnit.SECONDS))
+				throw new IllegalStateException("Second execution wasn't handed out concurrently");
+			throw new IllegalArgumentException();
+		}
+
+		@AfterEach
+		void finishFirstExecution() {
+			// the first execution's failure was already handled, which decided the test's outcome
+			firstExecutionFinished.countDown();
+		}
+
+	}
+
+	/**
+	 * Holds back every execution but the first one until the first one finished. The condition is
+	 * evaluated before {@link RetryingTestExtension}'s, which skips executions once the test is decided.
+	 */
+	static class WaitForFirstExecution implements ExecutionCondition {
+
+		@Override
+		public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+			// the condition is also evaluated for the test template, whose parent is the test class
+			boolean isExecution = context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent();
+			if (!isExecution)
+				return ConditionEvaluationResult.enabled("Not an execution");
+			ConcurrentRetryingTestTestCase testCase = (ConcurrentRetryingTestTestCase) context
+					.getRequiredTestInstance();
+			if (testCase.executionsEvaluated.incrementAndGet() > 1) {
+				testCase.secondExecutionEvaluated.countDown();
+				try {
+					testCase.firstExecutionFinished.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return ConditionEvaluationResult.enabled("First execution finished");
+		}
+
+	}
+
+	// the state is shared by concurrent executions, so it needs the same `PER_CLASS` lifecycle as above
+	@TestInstance(PER_CLASS)
+	static class AfterEachRetryingTestTestCase {
+
+		private final AtomicInteger executions = new AtomicInteger();
+		private final AtomicInteger runningExecutions = new AtomicInteger();
+		private final CountDownLatch executionsOverlapped = new CountDownLatch(1);
+
+		@BeforeEach
+		void startExecution() {
+			if (runningExecutions.incrementAndGet() > 1) {
+				executionsOverlapped.countDown();
+				throw new IllegalStateException("Retry started before the failed execution finished");
+			}
+		}
+
+		@RetryingTest(maxAttempts = 2, maxConcurrentAttempts = 1)
+		@Execution(ExecutionMode.CONCURRENT)
+		void failsOnFirstExecution() {
+			if (executions.incrementAndGet() == 1)
+				throw new IllegalArgumentException();
+		}
+
+		@AfterEach
+		void finishExecution() throws InterruptedException {
+			// the failure was already handled, so give a retry that starts too early the time to do so
+			if (executions.get() == 1)
+				executionsOverlapped.await(500, TimeUnit.MILLISECONDS);
+			runningExecutions.decrementAndGet();
+		}
+
 	}
 
 	@Target({ METHOD, ANNOTATION_TYPE })
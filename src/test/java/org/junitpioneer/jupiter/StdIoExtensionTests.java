@@ -12,18 +12,30 @@ package org.junitpioneer.jupiter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestClass;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethod;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethodWithParameterTypes;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -32,6 +44,7 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junitpioneer.testkit.ExecutionResults;
 
 /**
@@ -207,6 +220,299 @@ public class StdIoExtensionTests {
 
 	}
 
+	@Nested
+	@DisplayName("with input from ")
+	class InputSourceTests {
+
+		@Test
+		@StdIo(file = "src/test/resources/stdio-input.txt")
+		@DisplayName("a file reads the file's content")
+		void readsFile(StdIn in) throws IOException {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+
+			assertThat(reader.readLine()).isEqualTo("Resembling strong youth in his middle age,");
+			assertThat(reader.readLine()).isEqualTo("Yet mortal looks adore his beauty still,");
+			assertThat(reader.readLine()).isNull();
+		}
+
+		@Test
+		@StdIo(resource = "stdio-input.txt")
+		@DisplayName("a resource reads the resource's content")
+		void readsResource(StdIn in) throws IOException {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+
+			assertThat(reader.readLine()).isEqualTo("Resembling strong youth in his middle age,");
+			assertThat(reader.readLine()).isEqualTo("Yet mortal looks adore his beauty still,");
+			assertThat(reader.readLine()).isNull();
+		}
+
+		@Test
+		@StdIo("Attending on his golden pilgrimage: Grüße")
+		@DisplayName("lines reads the encoded bytes in bulk")
+		void readsEncodedBytes(StdIn in) throws IOException {
+			byte[] expected = "Attending on his golden pilgrimage: Grüße".getBytes(Charset.defaultCharset());
+			byte[] actual = new byte[expected.length + 10];
+
+			int read = System.in.read(actual, 5, actual.length - 5);
+
+			assertThat(read).isEqualTo(expected.length);
+			assertThat(Arrays.copyOfRange(actual, 5, 5 + read)).isEqualTo(expected);
+			assertThat(in.capturedLines()).containsExactly("Attending on his golden pilgrimage: Grüße");
+		}
+
+	}
+
+	@Nested
+	@DisplayName("with limited output ")
+	class LimitedOutputTests {
+
+		@Test
+		@StdIo(maxCapturedChars = 16)
+		@DisplayName("keeps only the last characters")
+		void keepsLastCharacters(StdOut out) {
+			System.out.print("Lo! in the orient ");
+			System.out.print("when the gracious light");
+
+			assertThat(out.capturedLines()).containsExactly("e gracious light");
+		}
+
+	}
+
+	@Nested
+	@DisplayName("StdOut ")
+	class StdOutTests {
+
+		@Test
+		@DisplayName("forwards output to the tee target once closed")
+		void forwardsOutputToTeeTarget() {
+			ByteArrayOutputStream original = new ByteArrayOutputStream();
+			StdOut out = new StdOut(-1, original);
+			byte[] bytes = ("Lo! in the orient" + StdIoExtension.SEPARATOR).getBytes(Charset.defaultCharset());
+
+			out.write(bytes, 0, bytes.length);
+			out.close();
+
+			assertThat(out.capturedLines()).containsExactly("Lo! in the orient");
+			assertThat(original.toString()).isEqualTo("Lo! in the orient" + StdIoExtension.SEPARATOR);
+		}
+
+		@Test
+		@DisplayName("reports a broken tee target once closed, even if output piled up")
+		void reportsBrokenTeeTarget() throws InterruptedException {
+			CountDownLatch forwardingStarted = new CountDownLatch(1);
+			CountDownLatch outputPiledUp = new CountDownLatch(1);
+			OutputStream broken = new OutputStream() {
+
+				@Override
+				public void write(int b) throws IOException {
+					forwardingStarted.countDown();
+					try {
+						outputPiledUp.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					throw new IOException("The console is gone");
+				}
+
+			};
+			StdOut out = new StdOut(-1, broken);
+			byte[] bytes = ("Lo! in the orient" + StdIoExtension.SEPARATOR).getBytes(Charset.defaultCharset());
+
+			out.write(bytes, 0, bytes.length);
+			forwardingStarted.await();
+			// more chunks than fit into the forwarder's queue
+			for (int i = 0; i < 2_000; i++)
+				out.write(bytes, 0, bytes.length);
+			outputPiledUp.countDown();
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThatThrownBy(out::close)
+					.isInstanceOf(UncheckedIOException.class)
+					.hasCauseInstanceOf(IOException.class)
+					.hasRootCauseMessage("The console is gone"));
+		}
+
+		@Test
+		@WritesStdIo
+		@DisplayName("restores System.out even if forwarding output to it failed")
+		void restoresSystemOutAfterBrokenTeeTarget() {
+			PrintStream originalOut = System.out;
+			PrintStream broken = new PrintStream(new ByteArrayOutputStream()) {
+
+				@Override
+				public void write(byte[] b) throws IOException {
+					throw new IOException("The console is gone");
+				}
+
+			};
+			try {
+				System.setOut(broken);
+				ExecutionResults results = executeTestMethodWithParameterTypes(TeeConfigurations.class, "writesOutput",
+					StdOut.class);
+
+				assertThat(System.out).isSameAs(broken);
+				assertThat(results)
+						.hasSingleFailedTest()
+						.withExceptionInstanceOf(UncheckedIOException.class)
+						.hasMessageContaining("Failed to forward output");
+			}
+			finally {
+				System.setOut(originalOut);
+			}
+		}
+
+		@Test
+		@DisplayName("captures bulk writes at an offset")
+		void capturesBulkWritesAtOffset() {
+			StdOut out = new StdOut();
+			byte[] bytes = ("Lo! in the orient" + StdIoExtension.SEPARATOR + "when the gracious light")
+					.getBytes(Charset.defaultCharset());
+
+			out.write(bytes, 4, bytes.length - 4);
+
+			assertThat(out.capturedLines()).containsExactly("in the orient", "when the gracious light");
+		}
+
+		@Test
+		@DisplayName("captures output that exceeds the initial capacity")
+		void capturesLargeOutput() {
+			StdOut out = new StdOut();
+			PrintStream stream = new PrintStream(out);
+
+			for (int i = 0; i < 1_000; i++)
+				stream.println("Line " + i);
+
+			assertThat(out.capturedLines()).hasSize(1_000).startsWith("Line 0").endsWith("Line 999");
+		}
+
+		@Test
+		@DisplayName("keeps the last lines when limited")
+		void keepsLastLinesWhenLimited() {
+			StdOut out = new StdOut(64, null);
+			PrintStream stream = new PrintStream(out);
+
+			for (int i = 0; i < 1_000; i++)
+				stream.print("Line " + i + StdIoExtension.SEPARATOR);
+
+			String[] lines = out.capturedLines();
+			assertThat(lines).endsWith("Line 998", "Line 999");
+			assertThat(String.join(StdIoExtension.SEPARATOR, lines).length()).isLessThanOrEqualTo(64);
+		}
+
+		@Test
+		@DisplayName("decodes characters split across writes")
+		void decodesCharactersSplitAcrossWrites() {
+			StdOut out = new StdOut();
+			byte[] bytes = ("Grüße" + StdIoExtension.SEPARATOR + "Welt").getBytes(Charset.defaultCharset());
+
+			for (byte b : bytes)
+				out.write(b);
+
+			assertThat(out.capturedLines()).containsExactly("Grüße", "Welt");
+		}
+
+		@Test
+		@DisplayName("keeps the last characters of multibyte output when limited")
+		void keepsLastCharactersOfMultibyteOutput() {
+			StdOut threeChars = new StdOut(3, null);
+			StdOut twoChars = new StdOut(2, null);
+			byte[] bytes = "Grüße".getBytes(Charset.defaultCharset());
+
+			threeChars.write(bytes, 0, bytes.length);
+			twoChars.write(bytes, 0, bytes.length);
+
+			// with a multibyte charset (like UTF-8), the last bytes would hold fewer (or split) characters
+			assertThat(threeChars.capturedLines()).containsExactly("üße");
+			assertThat(twoChars.capturedLines()).containsExactly("ße");
+		}
+
+		@Test
+		@DisplayName("provides lines as stream and the last line")
+		void providesLinesAndLastLine() {
+			StdOut out = new StdOut();
+			PrintStream stream = new PrintStream(out);
+
+			stream.println("Lo! in the orient when the gracious light");
+			stream.print("Lifts up his burning head");
+
+			assertThat(out.lines()).containsExactly("Lo! in the orient when the gracious light",
+				"Lifts up his burning head");
+			assertThat(out.lastLine()).isEqualTo("Lifts up his burning head");
+		}
+
+		@Test
+		@DisplayName("provides the lines at the time of the call as stream")
+		void providesLinesAtTimeOfCall() {
+			StdOut out = new StdOut();
+			PrintStream stream = new PrintStream(out);
+			stream.println("Lo! in the orient when the gracious light");
+
+			Stream<String> lines = out.lines();
+			stream.println("Lifts up his burning head");
+
+			assertThat(lines).containsExactly("Lo! in the orient when the gracious light");
+		}
+
+		@Test
+		@DisplayName("decodes a character that was cut off at the end once closed")
+		void decodesCutOffCharacterOnceClosed() {
+			assumeTrue(Charset.defaultCharset().newEncoder().maxBytesPerChar() > 1,
+				"Requires a multibyte charset");
+			StdOut out = new StdOut();
+			byte[] bytes = "Grüß".getBytes(Charset.defaultCharset());
+
+			out.write(bytes, 0, bytes.length - 1);
+			assertThat(out.lastLine()).isEqualTo("Grü");
+			out.close();
+
+			// the incomplete last character is replaced
+			assertThat(out.lastLine()).startsWith("Grü").hasSize(4);
+		}
+
+		@Test
+		@DisplayName("awaits a line that is written later")
+		void awaitsLineWrittenLater() throws InterruptedException {
+			StdOut out = new StdOut();
+			PrintStream stream = new PrintStream(out);
+			stream.println("Lo! in the orient when the gracious light");
+			Thread writer = new Thread(() -> {
+				stream.println("Lifts up his burning head,");
+				stream.println("each under eye");
+			});
+
+			writer.start();
+			Optional<String> line = out.awaitLine(l -> l.startsWith("each"), Duration.ofSeconds(10));
+			writer.join();
+
+			assertThat(line).contains("each under eye");
+		}
+
+		@Test
+		@DisplayName("returns nothing when awaiting a line times out")
+		void awaitingLineTimesOut() throws InterruptedException {
+			StdOut out = new StdOut();
+			PrintStream stream = new PrintStream(out);
+			stream.println("Lo! in the orient when the gracious light");
+			// only completed lines are checked
+			stream.print("Lifts up his burning head");
+
+			Optional<String> line = out.awaitLine(l -> l.startsWith("Lifts"), Duration.ofMillis(50));
+
+			assertThat(line).isEmpty();
+		}
+
+		@Test
+		@DisplayName("keeps the end of a single write that exceeds the limit")
+		void keepsEndOfLargeWriteWhenLimited() {
+			StdOut out = new StdOut(5, null);
+
+			out.write("Hello, World".getBytes(Charset.defaultCharset()), 0, 12);
+
+			assertThat(out.capturedLines()).containsExactly("World");
+		}
+
+	}
+
 	@Nested
 	@DisplayName("when configured ")
 	class ConfigurationTests {
@@ -237,6 +543,28 @@ public class StdIoExtensionTests {
 			assertThat(results).hasSingleFailedTest();
 		}
 
+		@Test
+		@DisplayName("with lines and a file as input, an exception is thrown")
+		void withLinesAndFile() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurations.class, "linesAndFile");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("only define input with one of");
+		}
+
+		@Test
+		@DisplayName("with a missing resource as input, an exception is thrown")
+		void withMissingResource() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurations.class, "missingResource");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("Could not find input resource");
+		}
+
 	}
 
 	static class CorrectConfigurations {
@@ -258,6 +586,16 @@ public class StdIoExtensionTests {
 
 	}
 
+	static class TeeConfigurations {
+
+		@Test
+		@StdIo(tee = true)
+		void writesOutput(StdOut out) {
+			System.out.println("Lo! in the orient when the gracious light");
+		}
+
+	}
+
 	static class IllegalConfigurations {
 
 		@Test
@@ -270,6 +608,16 @@ public class StdIoExtensionTests {
 		void noInputButStdIn(StdIn in) {
 		}
 
+		@Test
+		@StdIo(value = "Hello", file = "src/test/resources/stdio-input.txt")
+		void linesAndFile() {
+		}
+
+		@Test
+		@StdIo(resource = "does-not-exist.txt")
+		void missingResource() {
+		}
+
 	}
 
 	/**
@@ -13,6 +13,8 @@ package org.junitpioneer.jupiter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 
+import java.util.Properties;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
@@ -224,6 +227,154 @@ class SystemPropertyExtensionTests {
 
 	}
 
+	@Nested
+	@DisplayName("used with test templates")
+	class TestTemplateTests {
+
+		@RepeatedTest(3)
+		@DisplayName("should set and restore system properties for each repetition")
+		@ClearSystemProperty(key = "set prop A")
+		@SetSystemProperty(key = "clear prop D", value = "new D")
+		void shouldSetSystemPropertiesForEachRepetition() {
+			assertThat(System.getProperty("set prop A")).isNull();
+			assertThat(System.getProperty("clear prop D")).isEqualTo("new D");
+
+			System.setProperty("set prop A", "changed A");
+			System.clearProperty("clear prop D");
+		}
+
+		@Test
+		@DisplayName("should fail each repetition when misconfigured")
+		void shouldFailEachRepetitionWhenMisconfigured() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethod(TestTemplateTestCases.class, "clearAndSetSameProperty");
+
+			assertThat(results).hasNumberOfFailedTests(2);
+		}
+
+	}
+
+	static class RestoreTestCases {
+
+		@Test
+		@RestoreSystemProperties
+		void changesAndReplacesProperties() {
+			Properties properties = System.getProperties();
+			System.setProperties((Properties) properties.clone());
+			// code that held on to the original instance changes it
+			properties.setProperty("set prop A", "new A");
+			properties.remove("set prop B");
+			properties.setProperty("clear prop D", "new D");
+		}
+
+	}
+
+	static class TestTemplateTestCases {
+
+		@RepeatedTest(2)
+		@ClearSystemProperty(key = "set prop A")
+		@SetSystemProperty(key = "set prop A", value = "new A")
+		void clearAndSetSameProperty() {
+		}
+
+	}
+
+	@Nested
+	@TestMethodOrder(OrderAnnotation.class)
+	@DisplayName("used with RestoreSystemProperties")
+	class RestoreSystemPropertiesTests {
+
+		@Test
+		@Order(1)
+		@RestoreSystemProperties
+		@DisplayName("should restore directly changed properties")
+		void shouldAllowDirectChanges() {
+			System.setProperty("set prop A", "new A");
+			System.clearProperty("set prop B");
+			System.setProperty("clear prop D", "new D");
+
+			assertThat(System.getProperty("set prop A")).isEqualTo("new A");
+			assertThat(System.getProperty("set prop B")).isNull();
+			assertThat(System.getProperty("clear prop D")).isEqualTo("new D");
+		}
+
+		@Test
+		@Order(2)
+		@ReadsSystemProperty
+		@DisplayName("should have restored directly changed properties")
+		void shouldHaveRestoredDirectChanges() {
+			assertThat(System.getProperty("set prop A")).isEqualTo("old A");
+			assertThat(System.getProperty("set prop B")).isEqualTo("old B");
+			assertThat(System.getProperty("clear prop D")).isNull();
+		}
+
+		@Test
+		@Order(3)
+		@RestoreSystemProperties
+		@ClearSystemProperty(key = "set prop A")
+		@SetSystemProperty(key = "clear prop E", value = "new E")
+		@DisplayName("should be combinable with ClearSystemProperty and SetSystemProperty")
+		void shouldBeCombinable() {
+			System.setProperty("set prop C", "new C");
+
+			assertThat(System.getProperty("set prop A")).isNull();
+			assertThat(System.getProperty("set prop C")).isEqualTo("new C");
+			assertThat(System.getProperty("clear prop E")).isEqualTo("new E");
+		}
+
+		@Test
+		@Order(4)
+		@ReadsSystemProperty
+		@DisplayName("should have restored combined changes")
+		void shouldHaveRestoredCombinedChanges() {
+			assertThat(System.getProperty("set prop A")).isEqualTo("old A");
+			assertThat(System.getProperty("set prop C")).isEqualTo("old C");
+			assertThat(System.getProperty("clear prop E")).isNull();
+		}
+
+		@Test
+		@Order(5)
+		@WritesSystemProperty
+		@DisplayName("should restore the original Properties instance and its entries")
+		void shouldRestoreOriginalInstance() {
+			Properties original = System.getProperties();
+
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethod(RestoreTestCases.class, "changesAndReplacesProperties");
+
+			assertThat(results).hasSingleSucceededTest();
+			assertThat(System.getProperties()).isSameAs(original);
+			assertThat(System.getProperty("set prop A")).isEqualTo("old A");
+			assertThat(System.getProperty("set prop B")).isEqualTo("old B");
+			assertThat(System.getProperty("clear prop D")).isNull();
+		}
+
+		@Nested
+		@RestoreSystemProperties
+		@TestMethodOrder(OrderAnnotation.class)
+		@DisplayName("on class level")
+		class ClassLevelRestoreTests {
+
+			@Test
+			@Order(1)
+			@DisplayName("should restore directly changed properties after each test")
+			void shouldAllowDirectChanges() {
+				System.setProperty("set prop A", "new A");
+
+				assertThat(System.getProperty("set prop A")).isEqualTo("new A");
+			}
+
+			@Test
+			@Order(2)
+			@DisplayName("should have restored directly changed properties after each test")
+			void shouldHaveRestoredDirectChanges() {
+				assertThat(System.getProperty("set prop A")).isEqualTo("old A");
+			}
+
+		}
+
+	}
+
 	@Nested
 	@DisplayName("used with incorrect configuration")
 	class ConfigurationFailureTests {
@@ -11,8 +11,12 @@
 package org.junitpioneer.jupiter.params;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
@@ -22,8 +26,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.junitpioneer.internal.DisableIfArgumentPlan;
+import org.junitpioneer.jupiter.CartesianProductTest;
+import org.junitpioneer.jupiter.CartesianValueSource;
 import org.junitpioneer.testkit.ExecutionResults;
 import org.junitpioneer.testkit.PioneerTestKit;
 
@@ -109,6 +118,177 @@ class DisableIfArgumentExtensionTests {
 
 	}
 
+	@Nested
+	@DisplayName("when configured with typed conditions")
+	class TypedConditionTests {
+
+		@Test
+		@DisplayName("disables tests when parameter is less than 'lessThan'")
+		void lessThan() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "lessThan", int.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter is greater than 'greaterThan'")
+		void greaterThan() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "greaterThan", long.class);
+
+			assertThat(results).hasNumberOfAbortedTests(1).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("disables tests when integral parameter equals any integral value from the 'in' array")
+		void inIntegral() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "inIntegral", int.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("disables tests when floating point parameter equals any value from the 'in' array")
+		void inFloatingPoint() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "inFloatingPoint",
+						double.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(1);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter is null")
+		void isNull() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "isNull", String.class);
+
+			assertThat(results).hasNumberOfAbortedTests(1).hasNumberOfSucceededTests(2);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter is an instance of any type from the 'instanceOf' array")
+		void instanceOf() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "instanceOf", Object.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(2);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter is an enum constant with any name from the 'enumNames' array")
+		void enumNames() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "enumNames", TimeUnit.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(5);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter fulfills the predicate declared in the test class")
+		void predicate() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "predicate", int.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("disables tests when parameter fulfills the predicate referenced by its fully qualified name")
+		void qualifiedPredicate() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(TypedConditionTestCases.class, "qualifiedPredicate",
+						String.class);
+
+			assertThat(results).hasNumberOfAbortedTests(1).hasNumberOfSucceededTests(2);
+		}
+
+	}
+
+	@Nested
+	@DisplayName("when filtering arguments")
+	class FilterModeTests {
+
+		private final Map<String, String> filterMode = Collections
+				.singletonMap(DisableIfArgumentPlan.MODE_PROPERTY_NAME, "filter");
+
+		@Test
+		@DisplayName("aborts invocations of range source tests by default")
+		void rangeSourceWithoutFilter() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "rangeSource", int.class);
+
+			assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("removes arguments of range source tests before invocations are created")
+		void rangeSourceWithFilter() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "rangeSource", filterMode, int.class);
+
+			assertThat(results).hasNumberOfStartedTests(3).hasNumberOfSucceededTests(3);
+		}
+
+		@Test
+		@DisplayName("removes argument combinations of Cartesian product tests before invocations are created")
+		void cartesianProductWithFilter() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "cartesianProduct", filterMode,
+						int.class, int.class);
+
+			assertThat(results).hasNumberOfStartedTests(4).hasNumberOfSucceededTests(4);
+		}
+
+		@Test
+		@DisplayName("keeps the last argument of range source tests if all are disabled")
+		void rangeSourceWithAllArgumentsFiltered() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "rangeSourceAllDisabled", filterMode,
+						int.class);
+
+			assertThat(results).hasNumberOfStartedTests(1).hasNumberOfAbortedTests(1);
+			assertThat(results).hasNumberOfFailedContainers(0);
+		}
+
+		@Test
+		@DisplayName("keeps the last argument combination of Cartesian product tests if all are disabled")
+		void cartesianProductWithAllArgumentsFiltered() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "cartesianProductAllDisabled",
+						filterMode, int.class, int.class);
+
+			assertThat(results).hasNumberOfStartedTests(1).hasNumberOfAbortedTests(1);
+			assertThat(results).hasNumberOfFailedContainers(0);
+		}
+
+		@Test
+		@DisplayName("still aborts invocations for arguments from other sources")
+		void otherSourceWithFilter() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(CorrectConfigTestCases.class, "interceptContainsAny",
+						filterMode, String.class, String.class);
+
+			assertThat(results).hasNumberOfAbortedTests(4).hasNumberOfSucceededTests(6);
+		}
+
+		@Test
+		@DisplayName("throws an exception for unknown modes")
+		void unknownMode() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(FilterTestCases.class, "rangeSource",
+						Collections.singletonMap(DisableIfArgumentPlan.MODE_PROPERTY_NAME, "ignore"), int.class);
+
+			assertThat(results)
+					.hasSingleFailedContainer()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("must be either `abort` or `filter` but was `ignore`");
+		}
+
+	}
+
 	@Nested
 	@DisplayName("when not configured correctly")
 	class MisconfigurationTests {
@@ -158,7 +338,7 @@ class DisableIfArgumentExtensionTests {
 		}
 
 		@Test
-		@DisplayName("throws an exception if both 'matches' and 'contains' is missing for DisableIfArgument")
+		@DisplayName("throws an exception if all conditions are missing for DisableIfArgument")
 		void missingValues() {
 			ExecutionResults results = PioneerTestKit
 					.executeTestMethodWithParameterTypes(BadConfigTestCases.class, "missingInputs", String.class);
@@ -166,7 +346,8 @@ class DisableIfArgumentExtensionTests {
 			assertThat(results)
 					.hasNumberOfFailedTests(3)
 					.withExceptionInstancesOf(ExtensionConfigurationException.class)
-					.allMatch(("DisableIfArgument requires that either `contains` or `matches` is set.")::equals);
+					.allMatch(("DisableIfArgument requires that exactly one of `contains`, `matches`, `lessThan`, "
+							+ "`greaterThan`, `in`, `isNull`, `instanceOf`, `enumNames`, or `predicate` is set.")::equals);
 		}
 
 		@Test
@@ -202,7 +383,46 @@ class DisableIfArgumentExtensionTests {
 			assertThat(results)
 					.hasNumberOfFailedTests(3)
 					.withExceptionInstancesOf(ExtensionConfigurationException.class)
-					.allMatch(("DisableIfArgument requires that either `contains` or `matches` is set.")::equals);
+					.allMatch(("DisableIfArgument requires that exactly one of `contains`, `matches`, `lessThan`, "
+							+ "`greaterThan`, `in`, `isNull`, `instanceOf`, `enumNames`, or `predicate` is set.")::equals);
+		}
+
+		@Test
+		@DisplayName("throws an exception if several typed conditions are set for DisableIfArgument")
+		void severalTypedConditionsSet() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(BadConfigTestCases.class, "setSeveralTypedConditions",
+						int.class);
+
+			assertThat(results)
+					.hasNumberOfFailedTests(3)
+					.withExceptionInstancesOf(ExtensionConfigurationException.class)
+					.allMatch(message -> message.startsWith("DisableIfArgument requires that exactly one of"));
+		}
+
+		@Test
+		@DisplayName("throws an exception if a numeric condition is applied to a non-numeric parameter")
+		void numericConditionOnString() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(BadConfigTestCases.class, "numericConditionOnString",
+						String.class);
+
+			assertThat(results)
+					.hasNumberOfFailedTests(3)
+					.withExceptionInstancesOf(ExtensionConfigurationException.class)
+					.allMatch(message -> message.endsWith("but argument was java.lang.String."));
+		}
+
+		@Test
+		@DisplayName("throws an exception if the predicate can not be found")
+		void missingPredicate() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(BadConfigTestCases.class, "missingPredicate", String.class);
+
+			assertThat(results)
+					.hasNumberOfFailedTests(3)
+					.withExceptionInstancesOf(ExtensionConfigurationException.class)
+					.allMatch(message -> message.startsWith("Could not find predicate `doesNotExist`"));
 		}
 
 		@Test
@@ -337,6 +557,118 @@ class DisableIfArgumentExtensionTests {
 
 	}
 
+	static class TypedConditionTestCases {
+
+		@ParameterizedTest
+		@DisableIfArgument(lessThan = 3)
+		@ValueSource(ints = { 1, 2, 3, 4, 5 })
+		void lessThan(int value) {
+			assertThat(value).isGreaterThanOrEqualTo(3);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(greaterThan = 3_000_000_000L)
+		@ValueSource(longs = { -3_000_000_001L, 0, 3_000_000_000L, 3_000_000_001L })
+		void greaterThan(long value) {
+			assertThat(value).isLessThanOrEqualTo(3_000_000_000L);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(in = { 2, 2.5, 4 })
+		@ValueSource(ints = { 1, 2, 3, 4, 5 })
+		void inIntegral(int value) {
+			assertThat(value).isNotIn(2, 4);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(in = { 0.1, 2.5 })
+		@ValueSource(doubles = { 0.1, 0.2, 2.5 })
+		void inFloatingPoint(double value) {
+			assertThat(value).isEqualTo(0.2);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(isNull = true)
+		@NullSource
+		@ValueSource(strings = { "A", "B" })
+		void isNull(String value) {
+			assertThat(value).isNotNull();
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(instanceOf = { CharSequence.class, Long.class })
+		@MethodSource("objects")
+		void instanceOf(Object value) {
+			assertThat(value).isNotInstanceOfAny(CharSequence.class, Long.class);
+		}
+
+		static Stream<Object> objects() {
+			return Stream.of("String", new StringBuilder("StringBuilder"), 1, 1L);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(enumNames = { "SECONDS", "MINUTES" })
+		@EnumSource(TimeUnit.class)
+		void enumNames(TimeUnit value) {
+			assertThat(value).isNotIn(TimeUnit.SECONDS, TimeUnit.MINUTES);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(predicate = "isEven")
+		@ValueSource(ints = { 1, 2, 3, 4, 5 })
+		void predicate(int value) {
+			assertThat(isEven(value)).isFalse();
+		}
+
+		static boolean isEven(int value) {
+			return value % 2 == 0;
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(predicate = "java.util.Objects#isNull")
+		@NullSource
+		@ValueSource(strings = { "A", "B" })
+		void qualifiedPredicate(String value) {
+			assertThat(value).isNotNull();
+		}
+
+	}
+
+	static class FilterTestCases {
+
+		@ParameterizedTest
+		@DisableIfArgument(matches = "[13]")
+		@IntRangeSource(from = 0, to = 5)
+		void rangeSource(int value) {
+			assertThat(value).isNotIn(1, 3);
+		}
+
+		@CartesianProductTest
+		@DisableIfAnyArgument(contains = "2")
+		@CartesianValueSource(ints = { 1, 2, 3 })
+		@CartesianValueSource(ints = { 1, 2, 3 })
+		void cartesianProduct(int first, int second) {
+			assertThat(first).isNotEqualTo(2);
+			assertThat(second).isNotEqualTo(2);
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(lessThan = 10)
+		@IntRangeSource(from = 0, to = 5)
+		void rangeSourceAllDisabled(int value) {
+			fail("All arguments are disabled");
+		}
+
+		@CartesianProductTest
+		@DisableIfAllArguments(matches = "\\d")
+		@CartesianValueSource(ints = { 1, 2 })
+		@CartesianValueSource(ints = { 3, 4 })
+		void cartesianProductAllDisabled(int first, int second) {
+			fail("All argument combinations are disabled");
+		}
+
+	}
+
 	static class BadConfigTestCases {
 
 		@Test
@@ -404,6 +736,24 @@ class DisableIfArgumentExtensionTests {
 		void setBothParams(String value) {
 		}
 
+		@ParameterizedTest
+		@DisableIfArgument(lessThan = 2, greaterThan = 2)
+		@ValueSource(ints = { 1, 2, 3 })
+		void setSeveralTypedConditions(int value) {
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(lessThan = 2)
+		@ValueSource(strings = { "A", "B", "C" })
+		void numericConditionOnString(String value) {
+		}
+
+		@ParameterizedTest
+		@DisableIfArgument(predicate = "doesNotExist")
+		@ValueSource(strings = { "A", "B", "C" })
+		void missingPredicate(String value) {
+		}
+
 		@ParameterizedTest
 		@DisableIfAnyArgument(contains = { "sonnet", "life" }, matches = "^.*(Peace, )\\1.*$")
 		@ValueSource(strings = { "A", "B", "C" })
@@ -10,6 +10,9 @@
 
 package org.junitpioneer.testkit;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.platform.engine.discovery.DiscoverySelectors;
 import org.junit.platform.testkit.engine.EngineExecutionResults;
 import org.junit.platform.testkit.engine.EngineTestKit;
@@ -40,7 +43,13 @@ public class ExecutionResults {
 	}
 
 	ExecutionResults(Class<?> testClass, String testMethodName, String methodParameterTypes) {
+		this(testClass, testMethodName, methodParameterTypes, Collections.emptyMap());
+	}
+
+	ExecutionResults(Class<?> testClass, String testMethodName, String methodParameterTypes,
+			Map<String, String> configurationParameters) {
 		executionResults = getConfiguredJupiterEngine()
+				.configurationParameters(configurationParameters)
 				.selectors(DiscoverySelectors.selectMethod(testClass, testMethodName, methodParameterTypes))
 				.execute();
 	}
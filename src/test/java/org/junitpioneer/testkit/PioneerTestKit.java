@@ -13,6 +13,9 @@ package org.junitpioneer.testkit;
 import static java.util.Arrays.stream;
 import static java.util.stream.Collectors.joining;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class PioneerTestKit {
 
 	/**
@@ -50,6 +53,26 @@ public class PioneerTestKit {
 	public static ExecutionResults executeTestMethodWithParameterTypes(Class<?> testClass, String testMethodName,
 			Class<?>... methodParameterTypes) {
 
+		return executeTestMethodWithParameterTypes(testClass, testMethodName, Collections.emptyMap(),
+			methodParameterTypes);
+	}
+
+	/**
+	 * Returns the execution results of the given method of a given test class
+	 * when executed with the given configuration parameters.
+	 *
+	 * @param testClass Name of the test class
+	 * @param testMethodName Name of the test method (of the given class)
+	 * @param configurationParameters Configuration parameters (key-value pairs) for the test engine
+	 * @param methodParameterTypes Class type(s) of the parameter(s)
+	 * @return The execution results
+	 * @throws IllegalArgumentException when methodParameterTypes is null
+	 * 			This method only checks parameters which are not part of the underlying
+	 * 			Jupiter TestKit. The Jupiter TestKit may throw other exceptions!
+	 */
+	public static ExecutionResults executeTestMethodWithParameterTypes(Class<?> testClass, String testMethodName,
+			Map<String, String> configurationParameters, Class<?>... methodParameterTypes) {
+
 		// throw IllegalArgumentException for a `null` array instead of NPE
 		// (hence no use of `Objects::requireNonNull`)
 		if (methodParameterTypes == null) {
@@ -59,7 +82,7 @@ public class PioneerTestKit {
 		// Concatenating all type names, because DiscoverySelectors.selectMethod only takes String as a parameter.
 		String allTypeNames = stream(methodParameterTypes).map(Class::getName).collect(joining(","));
 
-		return new ExecutionResults(testClass, testMethodName, allTypeNames);
+		return new ExecutionResults(testClass, testMethodName, allTypeNames, configurationParameters);
 	}
 
 }